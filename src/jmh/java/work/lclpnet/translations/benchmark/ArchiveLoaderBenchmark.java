@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2024 LCLP.
+ *
+ * Licensed under the MIT License. For more information, consider the LICENSE file in the project's root directory.
+ */
+
+package work.lclpnet.translations.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.Logger;
+import org.slf4j.helpers.NOPLogger;
+import work.lclpnet.translations.fixture.TranslationDatasetGenerator;
+import work.lclpnet.translations.loader.UrlArchiveTranslationLoader;
+import work.lclpnet.translations.model.LanguageCollection;
+import work.lclpnet.translations.util.JsonTranslationParser;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures loading translations with {@link UrlArchiveTranslationLoader} from jars and directories.
+ * The keys are spread over the archives, optionally skewed so that few archives contain most keys.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArchiveLoaderBenchmark {
+
+    private static final Logger logger = NOPLogger.NOP_LOGGER;
+
+    @Param({"10", "100"})
+    public int archiveCount;
+
+    @Param({"10000", "100000"})
+    public int keyCount;
+
+    @Param({"0", "1.0"})
+    public double skew;
+
+    @Param({"jar", "directory"})
+    public String layout;
+
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    private Path dir;
+    private UrlArchiveTranslationLoader loader;
+
+    @Setup
+    public void setup() throws IOException {
+        dir = Files.createTempDirectory("translations-benchmark");
+
+        TranslationDatasetGenerator generator = new TranslationDatasetGenerator()
+                .keys(keyCount)
+                .namespaces(archiveCount * 2)
+                .skew(skew)
+                .coverage(0.5);
+
+        URL[] urls = "jar".equals(layout)
+                ? generator.writeJars(dir, "lang/", archiveCount)
+                : generator.writeDirectories(dir, "lang/", archiveCount);
+
+        loader = new UrlArchiveTranslationLoader(urls, Collections.singletonList("lang/"), ForkJoinPool.commonPool(),
+                logger, file -> file.endsWith(".json"), () -> new JsonTranslationParser(logger), parallel);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        TranslationDatasetGenerator.delete(dir);
+    }
+
+    @Benchmark
+    public LanguageCollection load() {
+        return loader.load().join();
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2024 LCLP.
+ *
+ * Licensed under the MIT License. For more information, consider the LICENSE file in the project's root directory.
+ */
+
+package work.lclpnet.translations.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import work.lclpnet.translations.fixture.TranslationDatasetGenerator;
+import work.lclpnet.translations.model.FrozenLanguage;
+import work.lclpnet.translations.model.Language;
+import work.lclpnet.translations.model.StaticLanguage;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares lookups and namespace listings of a {@link FrozenLanguage} with a hash map backed {@link StaticLanguage}.
+ * The build benchmarks measure the cost of creating either of them, which is paid on every reload.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FrozenLanguageBenchmark {
+
+    @Param({"1000", "60000"})
+    public int keyCount;
+
+    private Map<String, String> translations;
+    private Language hashed, frozen;
+    private String[] present, absent;
+    private int cursor = 0;
+
+    @Setup
+    public void setup() {
+        TranslationDatasetGenerator generator = new TranslationDatasetGenerator().keys(keyCount);
+
+        translations = generator.translations(0);
+        hashed = new StaticLanguage(translations);
+        frozen = FrozenLanguage.of(hashed);
+
+        present = new String[1024];
+        absent = new String[1024];
+
+        for (int i = 0; i < present.length; i++) {
+            present[i] = generator.key((int) ((long) i * keyCount / present.length));
+            absent[i] = "absent." + present[i];
+        }
+    }
+
+    private String next(String[] keys) {
+        String key = keys[cursor];
+        cursor = (cursor + 1) & (keys.length - 1);
+        return key;
+    }
+
+    @Benchmark
+    public String hashMapGet() {
+        return hashed.get(next(present));
+    }
+
+    @Benchmark
+    public String frozenGet() {
+        return frozen.get(next(present));
+    }
+
+    @Benchmark
+    public boolean hashMapHasAbsent() {
+        return hashed.has(next(absent));
+    }
+
+    @Benchmark
+    public boolean frozenHasAbsent() {
+        return frozen.has(next(absent));
+    }
+
+    @Benchmark
+    public void hashMapPrefix(Blackhole blackhole) {
+        hashed.keys("ns0.group3.").forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void frozenPrefix(Blackhole blackhole) {
+        frozen.keys("ns0.group3.").forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 20)
+    public Language hashMapBuild() {
+        return new StaticLanguage(new HashMap<>(translations));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 20)
+    public Language frozenBuild() {
+        return FrozenLanguage.of(hashed);
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2024 LCLP.
+ *
+ * Licensed under the MIT License. For more information, consider the LICENSE file in the project's root directory.
+ */
+
+package work.lclpnet.translations.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.Logger;
+import org.slf4j.helpers.NOPLogger;
+import work.lclpnet.translations.fixture.TranslationDatasetGenerator;
+import work.lclpnet.translations.model.LanguageCollection;
+import work.lclpnet.translations.util.JsonTranslationParser;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing a single json translation file with {@link JsonTranslationParser}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonParserBenchmark {
+
+    private static final Logger logger = NOPLogger.NOP_LOGGER;
+
+    @Param({"1000", "10000", "100000"})
+    public int keyCount;
+
+    @Param({"true", "false"})
+    public boolean streaming;
+
+    private byte[] json;
+
+    @Setup
+    public void setup() {
+        json = new TranslationDatasetGenerator().keys(keyCount).json(0);
+    }
+
+    @Benchmark
+    public LanguageCollection parse() throws IOException {
+        JsonTranslationParser parser = new JsonTranslationParser(logger, streaming);
+        parser.parse(new ByteArrayInputStream(json), "en_us");
+
+        return parser.build();
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2024 LCLP.
+ *
+ * Licensed under the MIT License. For more information, consider the LICENSE file in the project's root directory.
+ */
+
+package work.lclpnet.translations.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import work.lclpnet.translations.fixture.TranslationDatasetGenerator;
+import work.lclpnet.translations.model.LanguageCollection;
+import work.lclpnet.translations.model.MutableLanguageCollection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures merging multiple sources with {@link MutableLanguageCollection#merge(java.util.stream.Stream)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MergeBenchmark {
+
+    @Param({"2", "20"})
+    public int sourceCount;
+
+    @Param({"1000", "10000", "100000"})
+    public int keyCount;
+
+    private List<LanguageCollection> sources;
+
+    @Setup
+    public void setup() {
+        sources = new ArrayList<>(sourceCount);
+
+        for (int i = 0; i < sourceCount; i++) {
+            // sources overlap partially, as each one translates a different random half of the keys
+            sources.add(new TranslationDatasetGenerator()
+                    .seed(i)
+                    .keys(keyCount)
+                    .coverage(0.5)
+                    .collection());
+        }
+    }
+
+    @Benchmark
+    public MutableLanguageCollection merge() {
+        return MutableLanguageCollection.merge(sources.stream());
+    }
+}
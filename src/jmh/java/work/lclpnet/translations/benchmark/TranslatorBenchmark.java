@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2024 LCLP.
+ *
+ * Licensed under the MIT License. For more information, consider the LICENSE file in the project's root directory.
+ */
+
+package work.lclpnet.translations.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import work.lclpnet.translations.DefaultLanguageTranslator;
+import work.lclpnet.translations.TranslationKey;
+import work.lclpnet.translations.fixture.TranslationDatasetGenerator;
+import work.lclpnet.translations.model.LanguageCollection;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures single-threaded lookups of {@link DefaultLanguageTranslator}.
+ * de_de only translates half of the keys, so that the others fall back to en_us.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TranslatorBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int keyCount;
+
+    private DefaultLanguageTranslator translator;
+    private String hitKey, fallbackKey, missingKey;
+    private TranslationKey hitHandle;
+    private String[] workload;
+    private int cursor = 0;
+
+    @Setup
+    public void setup() {
+        TranslationDatasetGenerator generator = new TranslationDatasetGenerator()
+                .keys(keyCount)
+                .coverage(0.5);
+
+        LanguageCollection languages = generator.collection();
+
+        translator = DefaultLanguageTranslator.create(() -> CompletableFuture.completedFuture(languages)).join();
+
+        int hit = keyCount / 2, fallback = keyCount / 2;
+        while (generator.value(1, hit) == null) hit++;
+        while (generator.value(1, fallback) != null) fallback++;
+
+        hitKey = generator.key(hit);
+        fallbackKey = generator.key(fallback);
+        missingKey = "missing." + generator.key(hit);
+        hitHandle = TranslationKey.of(hitKey);
+
+        // a skewed access pattern, where few keys are requested very often
+        int[] samples = generator.sampleKeyIndices(4096, 1.0);
+        workload = new String[samples.length];
+
+        for (int i = 0; i < samples.length; i++) {
+            workload[i] = generator.key(samples[i]);
+        }
+    }
+
+    @Benchmark
+    public String hit() {
+        return translator.translate("de_de", hitKey);
+    }
+
+    @Benchmark
+    public String fallback() {
+        return translator.translate("de_de", fallbackKey);
+    }
+
+    @Benchmark
+    public String miss() {
+        return translator.translate("de_de", missingKey);
+    }
+
+    @Benchmark
+    public String unknownLocale() {
+        return translator.translate("xx_xx", hitKey);
+    }
+
+    @Benchmark
+    public String handle() {
+        return translator.translate("de_de", hitHandle);
+    }
+
+    @Benchmark
+    public String varargs() {
+        return translator.translate("de_de", hitKey, "Steve");
+    }
+
+    @Benchmark
+    public String varargsFallback() {
+        return translator.translate("de_de", fallbackKey, "Steve");
+    }
+
+    @Benchmark
+    public String skewedWorkload() {
+        String key = workload[cursor];
+        cursor = (cursor + 1) & (workload.length - 1);
+
+        return translator.translate("de_de", key);
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2024 LCLP.
+ *
+ * Licensed under the MIT License. For more information, consider the LICENSE file in the project's root directory.
+ */
+
+package work.lclpnet.translations.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import work.lclpnet.translations.DefaultLanguageTranslator;
+import work.lclpnet.translations.loader.TranslationLoader;
+import work.lclpnet.translations.model.ColumnarLanguageCollection;
+import work.lclpnet.translations.model.Language;
+import work.lclpnet.translations.model.LanguageCollection;
+import work.lclpnet.translations.model.StaticLanguage;
+import work.lclpnet.translations.model.StaticLanguageCollection;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the lock-free snapshot read path of {@link DefaultLanguageTranslator}
+ * with the previous implementation, that guarded every read with the translator monitor.
+ * <p>
+ * The reload groups always run with a fixed ratio of 7 reader threads to 1 reload thread, in exactly one group
+ * of 8 threads. The thread counts are pinned with {@link Threads} and {@link GroupThreads}, so that results
+ * do not depend on the core count of the machine or the {@code -t} option and are comparable between runs.
+ * Run on a machine with at least 8 hardware threads, otherwise the readers compete for CPU time instead of the lock.
+ * <p>
+ * Both reload threads do the same publish work: they load the collection from the same loader,
+ * rebuild a columnar copy of it outside of any lock and then publish the copy.
+ * The snapshot additionally derives its lookup tables from the copy, which is inherent to its read path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TranslatorContentionBenchmark {
+
+    @Param({"1000"})
+    public int keyCount;
+
+    private String[] keys;
+    private DefaultLanguageTranslator translator;
+    private SynchronizedTranslator synchronizedTranslator;
+    private LanguageCollection languages;
+    private TranslationLoader loader;
+
+    @Setup
+    public void setup() {
+        keys = new String[keyCount];
+
+        Map<String, String> en = new HashMap<>();
+        Map<String, String> de = new HashMap<>();
+
+        for (int i = 0; i < keyCount; i++) {
+            String key = "benchmark.key." + i;
+            keys[i] = key;
+
+            en.put(key, "Value " + i);
+
+            // de_de is only partially translated, so that every other lookup falls back to en_us
+            if (i % 2 == 0) {
+                de.put(key, "Wert " + i);
+            }
+        }
+
+        Map<String, Language> languageMap = new HashMap<>();
+        languageMap.put("en_us", new StaticLanguage(en));
+        languageMap.put("de_de", new StaticLanguage(de));
+
+        languages = new StaticLanguageCollection(languageMap);
+
+        loader = () -> CompletableFuture.completedFuture(languages);
+
+        translator = DefaultLanguageTranslator.create(loader).join();
+        synchronizedTranslator = new SynchronizedTranslator(loader, "en_us");
+        synchronizedTranslator.reload().join();
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int index;
+
+        String next(String[] keys) {
+            if (++index >= keys.length) {
+                index = 0;
+            }
+
+            return keys[index];
+        }
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String snapshot(Cursor cursor) {
+        return translator.translate("de_de", cursor.next(keys));
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String monitor(Cursor cursor) {
+        return synchronizedTranslator.translate("de_de", cursor.next(keys));
+    }
+
+    @Benchmark
+    @Group("snapshotReload")
+    @GroupThreads(7)
+    @Threads(8)
+    public String snapshotRead(Cursor cursor) {
+        return translator.translate("de_de", cursor.next(keys));
+    }
+
+    @Benchmark
+    @Group("snapshotReload")
+    @GroupThreads(1)
+    @Threads(8)
+    public void snapshotWrite() {
+        translator.reload().join();
+    }
+
+    @Benchmark
+    @Group("monitorReload")
+    @GroupThreads(7)
+    @Threads(8)
+    public String monitorRead(Cursor cursor) {
+        return synchronizedTranslator.translate("de_de", cursor.next(keys));
+    }
+
+    @Benchmark
+    @Group("monitorReload")
+    @GroupThreads(1)
+    @Threads(8)
+    public void monitorWrite() {
+        synchronizedTranslator.reload().join();
+    }
+
+    /**
+     * The read path of the translator before the snapshot was introduced, used as baseline.
+     * Reloads rebuild a columnar copy of the loaded collection like the snapshot does, but publish it under the monitor.
+     */
+    static class SynchronizedTranslator {
+
+        private final TranslationLoader loader;
+        private final String defaultLanguage;
+        private LanguageCollection languages;
+
+        SynchronizedTranslator(TranslationLoader loader, String defaultLanguage) {
+            this.loader = loader;
+            this.defaultLanguage = defaultLanguage;
+        }
+
+        CompletableFuture<Void> reload() {
+            return loader.load().thenAccept(loaded -> setLanguages(ColumnarLanguageCollection.of(loaded)));
+        }
+
+        String translate(String locale, String key) {
+            Language language;
+
+            synchronized (this) {
+                language = languages.get(locale);
+            }
+
+            if (language == null) {
+                language = getLanguage(defaultLanguage);
+                if (language == null) return key;
+            }
+
+            String translation = language.get(key);
+            if (translation == null) {
+                language = getLanguage(defaultLanguage);
+                if (language == null) return key;
+
+                translation = language.get(key);
+                if (translation == null) return key;
+            }
+
+            return translation;
+        }
+
+        private Language getLanguage(String key) {
+            synchronized (this) {
+                return languages.get(key);
+            }
+        }
+
+        void setLanguages(LanguageCollection languages) {
+            synchronized (this) {
+                this.languages = languages;
+            }
+        }
+    }
+}
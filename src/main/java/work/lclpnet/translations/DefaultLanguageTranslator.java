@@ -7,138 +7,275 @@
 package work.lclpnet.translations;
 
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import work.lclpnet.translations.loader.MultiSourceTranslationLoader;
 import work.lclpnet.translations.loader.TranslationLoader;
+import work.lclpnet.translations.metrics.LookupResult;
+import work.lclpnet.translations.metrics.TranslationMetrics;
+import work.lclpnet.translations.model.ColumnarLanguage;
+import work.lclpnet.translations.model.ColumnarLanguageCollection;
 import work.lclpnet.translations.model.Language;
 import work.lclpnet.translations.model.LanguageCollection;
 import work.lclpnet.translations.model.StaticLanguageCollection;
+import work.lclpnet.translations.util.FormatTemplate;
 
+import java.io.IOException;
 import java.text.SimpleDateFormat;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
 
 public class DefaultLanguageTranslator implements Translator {
 
+    private static final Logger logger = LoggerFactory.getLogger(DefaultLanguageTranslator.class);
+
+    private static final String DATE_FORMAT_KEY = "date.format";
+    private static final String DEFAULT_DATE_FORMAT = "MM/dd/yyyy hh:mm a";
+
     private final TranslationLoader translationLoader;
     private final String defaultLanguage;
-    private LanguageCollection languages = new StaticLanguageCollection(Collections.emptyMap());
-    private final Map<String, SimpleDateFormat> dateFormats = new HashMap<>();
+    private final TranslationMetrics metrics;
+    /**
+     * The currently published translations. Readers only ever dereference this field once per call,
+     * so that lookups never block and a concurrent {@link #reload()} can swap it atomically.
+     */
+    private volatile Snapshot snapshot;
 
     public DefaultLanguageTranslator(TranslationLoader translationLoader) {
         this(translationLoader, "en_us");
     }
 
     public DefaultLanguageTranslator(TranslationLoader translationLoader, String defaultLanguage) {
+        this(translationLoader, defaultLanguage, TranslationMetrics.noop());
+    }
+
+    /**
+     * @param translationLoader The translation source.
+     * @param defaultLanguage The language to fall back to, if a locale does not translate a key.
+     * @param metrics Receives the result of every lookup.
+     */
+    public DefaultLanguageTranslator(TranslationLoader translationLoader, String defaultLanguage, TranslationMetrics metrics) {
         this.defaultLanguage = defaultLanguage;
         this.translationLoader = translationLoader;
+        this.metrics = metrics;
+        this.snapshot = new Snapshot(new StaticLanguageCollection(Collections.emptyMap()), defaultLanguage);
     }
 
     @Override
     public @NotNull String translate(String locale, String key) {
-        Language language;
+        final Snapshot snapshot = this.snapshot;
+        final LocaleTable table = snapshot.table(locale);
+        final int id = snapshot.keys.id(key);
 
-        synchronized (this) {
-            language = languages.get(locale);
-        }
+        record(table, locale, id, key);
 
-        if (language == null) {
-            language = getDefaultLanguage();
-            if (language == null) return key;
-        }
+        String translation = table.get(id);
+
+        return translation != null ? translation : key;
+    }
 
-        String translation = language.get(key);
-        if (translation == null) {
-            language = getDefaultLanguage();
-            if (language == null) return key;
+    @Override
+    public @NotNull String translate(String locale, String key, Object... substitutes) {
+        final Snapshot snapshot = this.snapshot;
+        final LocaleTable table = snapshot.table(locale);
+        final int id = snapshot.keys.id(key);
 
-            translation = language.get(key);
-            if (translation == null) return key;
-        }
+        record(table, locale, id, key);
 
-        return translation;
+        return table.template(id, key).format(substitutes);
     }
 
     @Override
-    public boolean hasTranslation(String locale, String key) {
-        final Language language;
+    public @NotNull String translate(String locale, TranslationKey key) {
+        final Snapshot snapshot = this.snapshot;
+        final LocaleTable table = snapshot.table(locale);
+        final int id = key.id(snapshot.keys);
 
-        synchronized (this) {
-            language = languages.get(locale);
-        }
+        record(table, locale, id, key.getKey());
 
-        if (language == null) return false;
+        String translation = table.get(id);
 
-        return language.has(key);
+        return translation != null ? translation : key.getKey();
     }
 
     @Override
-    @NotNull
-    public SimpleDateFormat getDateFormat(String locale) {
-        synchronized (this) {
-            if (dateFormats.containsKey(locale)) {
-                return dateFormats.get(locale);
-            }
-        }
+    public @NotNull String translate(String locale, TranslationKey key, Object... substitutes) {
+        final Snapshot snapshot = this.snapshot;
+        final LocaleTable table = snapshot.table(locale);
+        final int id = key.id(snapshot.keys);
 
-        if (!hasTranslation(locale, "date.format")) {
-            locale = defaultLanguage;
+        record(table, locale, id, key.getKey());
 
-            synchronized (this) {
-                if (dateFormats.containsKey(defaultLanguage)) {
-                    return dateFormats.get(defaultLanguage);
-                }
-            }
+        return table.template(id, key.getKey()).format(substitutes);
+    }
 
-            if (!hasTranslation(defaultLanguage, "date.format")) {
-                SimpleDateFormat format = new SimpleDateFormat("MM/dd/yyyy hh:mm a");
+    @Override
+    public void translateTo(Appendable out, String locale, String key) throws IOException {
+        final Snapshot snapshot = this.snapshot;
+        final LocaleTable table = snapshot.table(locale);
+        final int id = snapshot.keys.id(key);
 
-                synchronized (this) {
-                    dateFormats.put(defaultLanguage, format);
-                }
+        record(table, locale, id, key);
 
-                return format;
-            }
-        }
+        String translation = table.get(id);
+
+        out.append(translation != null ? translation : key);
+    }
+
+    @Override
+    public void translateTo(Appendable out, String locale, String key, Object... substitutes) throws IOException {
+        final Snapshot snapshot = this.snapshot;
+        final LocaleTable table = snapshot.table(locale);
+        final int id = snapshot.keys.id(key);
+
+        record(table, locale, id, key);
+
+        table.template(id, key).formatTo(out, substitutes);
+    }
+
+    @Override
+    public void translateTo(Appendable out, String locale, TranslationKey key) throws IOException {
+        final Snapshot snapshot = this.snapshot;
+        final LocaleTable table = snapshot.table(locale);
+        final int id = key.id(snapshot.keys);
+
+        record(table, locale, id, key.getKey());
+
+        String translation = table.get(id);
+
+        out.append(translation != null ? translation : key.getKey());
+    }
+
+    @Override
+    public void translateTo(Appendable out, String locale, TranslationKey key, Object... substitutes) throws IOException {
+        final Snapshot snapshot = this.snapshot;
+        final LocaleTable table = snapshot.table(locale);
+        final int id = key.id(snapshot.keys);
+
+        record(table, locale, id, key.getKey());
 
-        SimpleDateFormat format = new SimpleDateFormat(translate(locale, "date.format"));
+        table.template(id, key.getKey()).formatTo(out, substitutes);
+    }
+
+    @Override
+    public @NotNull <T> TranslationBatch<T> translateBatch(Iterable<? extends T> recipients,
+                                                           Function<? super T, String> localeGetter,
+                                                           String key, Object... substitutes) {
+        final Snapshot snapshot = this.snapshot;
+
+        return translateBatch(snapshot, snapshot.keys.id(key), key, recipients, localeGetter, substitutes);
+    }
+
+    @Override
+    public @NotNull <T> TranslationBatch<T> translateBatch(Iterable<? extends T> recipients,
+                                                           Function<? super T, String> localeGetter,
+                                                           TranslationKey key, Object... substitutes) {
+        final Snapshot snapshot = this.snapshot;
+
+        return translateBatch(snapshot, key.id(snapshot.keys), key.getKey(), recipients, localeGetter, substitutes);
+    }
+
+    private <T> TranslationBatch<T> translateBatch(Snapshot snapshot, int id, String key, Iterable<? extends T> recipients,
+                                                   Function<? super T, String> localeGetter, Object[] substitutes) {
+        // locales that fall back to the same translation share the instance, so it only has to be formatted once
+        Map<String, String> formatted = new IdentityHashMap<>();
+
+        return TranslationBatch.create(recipients, localeGetter, locale -> {
+            LocaleTable table = snapshot.table(locale);
 
-        synchronized (this) {
-            dateFormats.put(locale, format);
+            record(table, locale, id, key);
+
+            String translation = table.get(id);
+
+            return formatted.computeIfAbsent(translation != null ? translation : key,
+                    t -> table.template(id, key).format(substitutes));
+        });
+    }
+
+    private void record(LocaleTable table, String locale, int id, String key) {
+        LookupResult result = table.result(id);
+
+        metrics.recordLookup(locale, result);
+
+        if (result == LookupResult.MISS) {
+            metrics.recordMiss(locale, key);
         }
+    }
 
-        return format;
+    @Override
+    public boolean hasTranslation(String locale, String key) {
+        return snapshot.hasTranslation(locale, key);
     }
 
     @Override
-    public Iterable<String> getLanguages() {
-        return languages.keys();
+    @NotNull
+    public SimpleDateFormat getDateFormat(String locale) {
+        final Snapshot snapshot = this.snapshot;
+
+        return snapshot.dateFormats.computeIfAbsent(dateFormatLocale(snapshot, locale), snapshot::createDateFormat);
+    }
+
+    @Override
+    @NotNull
+    public DateTimeFormatter getDateTimeFormatter(String locale) {
+        final Snapshot snapshot = this.snapshot;
+
+        return snapshot.dateTimeFormatters.computeIfAbsent(dateFormatLocale(snapshot, locale), snapshot::createDateTimeFormatter);
+    }
+
+    @Override
+    @NotNull
+    public String formatDate(String locale, TemporalAccessor temporal) {
+        return getDateTimeFormatter(locale).format(temporal);
     }
 
-    @Nullable
-    private Language getLanguage(String key) {
-        synchronized (this) {
-            return languages.get(key);
+    private String dateFormatLocale(Snapshot snapshot, String locale) {
+        if (snapshot.hasTranslation(locale, DATE_FORMAT_KEY)) {
+            return locale;
         }
+
+        return defaultLanguage;
     }
 
-    @Nullable
-    private Language getDefaultLanguage() {
-        return getLanguage(defaultLanguage);
+    @Override
+    public Iterable<String> getLanguages() {
+        return snapshot.languages.keys();
     }
 
     public CompletableFuture<Void> reload() {
         return translationLoader.load().thenAccept(this::setLanguages);
     }
 
+    /**
+     * Reloads the translations, but makes the translations of each source available as soon as it is loaded.
+     * Sources of a {@link MultiSourceTranslationLoader} are published progressively, while keeping their priority order.
+     * For other loaders, this is the same as {@link #reload()}.
+     * @return A future that completes when every source was loaded.
+     */
+    public CompletableFuture<Void> reloadProgressively() {
+        if (!(translationLoader instanceof MultiSourceTranslationLoader)) {
+            return reload();
+        }
+
+        MultiSourceTranslationLoader loader = (MultiSourceTranslationLoader) translationLoader;
+
+        return loader.loadProgressively(this::setLanguages, ForkJoinPool.commonPool()).thenApply(result -> null);
+    }
+
     private void setLanguages(LanguageCollection languages) {
         if (languages == null) throw new IllegalArgumentException("Languages might not me null");
 
-        synchronized (this) {
-            this.languages = languages;
-            this.dateFormats.clear();  // reset cached dateFormats
-        }
+        // cached date formats are reset implicitly, as they are bound to the snapshot
+        this.snapshot = new Snapshot(languages, defaultLanguage);
     }
 
     /**
@@ -151,4 +288,259 @@ public class DefaultLanguageTranslator implements Translator {
 
         return translator.reload().thenApply(nil -> translator);
     }
+
+    /**
+     * An immutable view of the loaded translations, together with caches that are only valid for these translations.
+     */
+    private static final class Snapshot {
+
+        final ColumnarLanguageCollection languages;
+        final KeyIndex keys;
+        /**
+         * Lookup tables per locale, with the translations of the default language already merged in as fallback.
+         */
+        final Map<String, LocaleTable> tables = new HashMap<>();
+        final LocaleTable defaultTable;
+        final Map<String, SimpleDateFormat> dateFormats = new ConcurrentHashMap<>();
+        final Map<String, DateTimeFormatter> dateTimeFormatters = new ConcurrentHashMap<>();
+
+        Snapshot(LanguageCollection languages, String defaultLanguage) {
+            // the columnar copy shares the key dictionary between the languages and with the lookup tables
+            this.languages = ColumnarLanguageCollection.of(languages);
+            this.keys = new KeyIndex(this.languages);
+
+            ColumnarLanguage language = this.languages.get(defaultLanguage);
+
+            if (language != null && language.isLazilyDecoded()) {
+                // keep the default language encoded as well, every table falls back to it lazily
+                LocaleTable base = new LocaleTable(keys.size(), language, null);
+
+                // every translation of an unknown locale is a fallback
+                this.defaultTable = new LocaleTable(keys.size(), null, base);
+
+                for (String locale : this.languages.keys()) {
+                    language = this.languages.get(locale);
+                    if (language == null) continue;
+
+                    tables.put(locale, locale.equals(defaultLanguage) ? base : new LocaleTable(keys.size(), language, base));
+                }
+
+                return;
+            }
+
+            String[] defaults = new String[keys.size()];
+
+            if (language != null) {
+                resolve(language, defaults);
+            }
+
+            // every translation of an unknown locale is a fallback
+            this.defaultTable = new LocaleTable(defaults, null);
+
+            for (String locale : this.languages.keys()) {
+                language = this.languages.get(locale);
+                if (language == null) continue;
+
+                if (language.isLazilyDecoded() && !locale.equals(defaultLanguage)) {
+                    // resolve translations on first use, so that unused ones are never decoded
+                    tables.put(locale, new LocaleTable(keys.size(), language, defaultTable));
+                    continue;
+                }
+
+                String[] translations = defaults.clone();
+                long[] fallbacks = resolve(language, translations);
+
+                tables.put(locale, new LocaleTable(translations, fallbacks));
+            }
+        }
+
+        /**
+         * Get the lookup table of a locale. If the locale is unknown, the default language table is returned.
+         * @param locale The locale.
+         * @return The fallback-resolved lookup table for the locale.
+         */
+        LocaleTable table(String locale) {
+            LocaleTable table = tables.get(locale);
+
+            return table != null ? table : defaultTable;
+        }
+
+        /**
+         * Overlays the translations of a language.
+         * @param language The language.
+         * @param translations The translations to overlay, indexed by key id.
+         * @return A bitset of the key ids that are not translated by the language, but already were translated.
+         */
+        private static long[] resolve(ColumnarLanguage language, String[] translations) {
+            long[] fallbacks = new long[(translations.length + 63) >>> 6];
+
+            for (int id = 0; id < translations.length; id++) {
+                String value = language.get(id);
+
+                if (value != null) {
+                    translations[id] = value;
+                } else if (translations[id] != null) {
+                    fallbacks[id >>> 6] |= 1L << id;
+                }
+            }
+
+            return fallbacks;
+        }
+
+        boolean hasTranslation(String locale, String key) {
+            Language language = languages.get(locale);
+
+            if (language == null) return false;
+
+            return language.has(key);
+        }
+
+        SimpleDateFormat createDateFormat(String locale) {
+            return new SimpleDateFormat(dateFormatPattern(locale));
+        }
+
+        DateTimeFormatter createDateTimeFormatter(String locale) {
+            String pattern = dateFormatPattern(locale);
+            DateTimeFormatter formatter;
+
+            try {
+                formatter = DateTimeFormatter.ofPattern(pattern);
+            } catch (IllegalArgumentException e) {
+                // the pattern might be valid for SimpleDateFormat only
+                logger.warn("Invalid date format pattern '{}' of language {}, using the default pattern", pattern, locale, e);
+                formatter = DateTimeFormatter.ofPattern(DEFAULT_DATE_FORMAT);
+            }
+
+            // instants carry no zone, format them in the system zone like SimpleDateFormat does
+            return formatter.withZone(ZoneId.systemDefault());
+        }
+
+        private String dateFormatPattern(String locale) {
+            Language language = languages.get(locale);
+            String pattern = language != null ? language.get(DATE_FORMAT_KEY) : null;
+
+            return pattern != null ? pattern : DEFAULT_DATE_FORMAT;
+        }
+    }
+
+    /**
+     * The fallback-resolved translations of a single locale, indexed by the key ids of the snapshot.
+     */
+    private static final class LocaleTable {
+
+        /**
+         * The resolved translations. For lazy tables, translations are resolved on first use.
+         * Concurrent writes are benign, as every thread resolves the same instance.
+         */
+        final String[] translations;
+        /**
+         * Bitset of the key ids whose translation comes from the default language, or null if all of them do.
+         * Only used by eager tables.
+         */
+        final long[] fallbacks;
+        /**
+         * Whether translations are resolved on first use, instead of when the table is created.
+         */
+        final boolean lazy;
+        /**
+         * The language to resolve translations from on first use, or null if the table has no own translations.
+         */
+        final ColumnarLanguage language;
+        /**
+         * The table to resolve translations from, if the language does not translate a key. Only used by lazy tables.
+         */
+        final LocaleTable fallback;
+        /**
+         * Compiled format templates of the translations, created on first use.
+         * Concurrent writes are benign, as templates are immutable and equivalent.
+         */
+        final FormatTemplate[] templates;
+
+        LocaleTable(String[] translations, long[] fallbacks) {
+            this.translations = translations;
+            this.fallbacks = fallbacks;
+            this.lazy = false;
+            this.language = null;
+            this.fallback = null;
+            this.templates = new FormatTemplate[translations.length];
+        }
+
+        LocaleTable(int size, ColumnarLanguage language, LocaleTable fallback) {
+            this.translations = new String[size];
+            this.fallbacks = null;
+            this.lazy = true;
+            this.language = language;
+            this.fallback = fallback;
+            this.templates = new FormatTemplate[size];
+        }
+
+        String get(int id) {
+            if (id < 0) return null;
+
+            String translation = translations[id];
+
+            if (translation != null || !lazy) {
+                return translation;
+            }
+
+            if (language != null) {
+                translation = language.get(id);
+            }
+
+            if (translation == null && fallback != null) {
+                translation = fallback.get(id);
+            }
+
+            translations[id] = translation;
+
+            return translation;
+        }
+
+        /**
+         * Check whether this table has a translation for a key id, without decoding it.
+         * @param id The key id.
+         * @return True, if there is a translation for the key.
+         */
+        boolean contains(int id) {
+            if (id < 0) return false;
+
+            if (!lazy) return translations[id] != null;
+
+            return (language != null && language.has(id)) || (fallback != null && fallback.contains(id));
+        }
+
+        LookupResult result(int id) {
+            if (id < 0) return LookupResult.MISS;
+
+            if (lazy) {
+                if (language != null && language.has(id)) return LookupResult.HIT;
+
+                return fallback != null && fallback.contains(id) ? LookupResult.FALLBACK : LookupResult.MISS;
+            }
+
+            if (translations[id] == null) return LookupResult.MISS;
+
+            if (fallbacks == null || (fallbacks[id >>> 6] & (1L << id)) != 0) return LookupResult.FALLBACK;
+
+            return LookupResult.HIT;
+        }
+
+        FormatTemplate template(int id, String key) {
+            String translation = get(id);
+
+            if (translation == null) {
+                // do not cache templates of unknown keys, as they are unbounded
+                return FormatTemplate.compile(key);
+            }
+
+            FormatTemplate template = templates[id];
+
+            if (template == null) {
+                template = FormatTemplate.compile(translation);
+                templates[id] = template;
+            }
+
+            return template;
+        }
+    }
 }
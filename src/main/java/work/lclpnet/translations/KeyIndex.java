@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2024 LCLP.
+ *
+ * Licensed under the MIT License. For more information, consider the LICENSE file in the project's root directory.
+ */
+
+package work.lclpnet.translations;
+
+import org.jetbrains.annotations.Nullable;
+import work.lclpnet.translations.model.ColumnarLanguageCollection;
+import work.lclpnet.translations.util.PerfectHashIndex;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The key dictionary of loaded translations, which assigns dense integer ids to the translation keys.
+ * Every index has a generation that is unique across all translators, so that {@link TranslationKey} handles
+ * can tell the indices apart and detect when they need to be remapped.
+ * <p>
+ * Keys are looked up with a {@link PerfectHashIndex} over their hash codes, which takes a single probe.
+ * Keys whose hash code equals the one of another key, are resolved by the dictionary of the collection.
+ */
+final class KeyIndex {
+
+    private static final AtomicLong generations = new AtomicLong(0);
+
+    private final long generation = generations.incrementAndGet();
+    private final ColumnarLanguageCollection languages;
+    /** The perfect hash over the key hash codes, or null if none could be built. */
+    @Nullable
+    private final PerfectHashIndex index;
+    private final String[] slotKeys;
+    private final int[] slotIds;
+    /** Whether there are keys with equal hash codes, which are not indexed. */
+    private final boolean collisions;
+
+    KeyIndex(ColumnarLanguageCollection languages) {
+        this.languages = languages;
+
+        final int keyCount = languages.getKeyCount();
+
+        // sort by hash, only the first key of every hash is indexed
+        long[] packed = new long[keyCount];
+
+        for (int id = 0; id < keyCount; id++) {
+            packed[id] = ((long) languages.getKey(id).hashCode() << 32) | id;
+        }
+
+        Arrays.sort(packed);
+
+        int[] hashes = new int[keyCount];
+        int[] ids = new int[keyCount];
+        int count = 0;
+        boolean collisions = false;
+
+        for (long entry : packed) {
+            int hash = (int) (entry >> 32);
+
+            if (count > 0 && hashes[count - 1] == hash) {
+                collisions = true;
+                continue;
+            }
+
+            hashes[count] = hash;
+            ids[count++] = (int) entry;
+        }
+
+        this.index = PerfectHashIndex.build(Arrays.copyOf(hashes, count));
+        this.collisions = collisions;
+
+        if (index == null) {
+            this.slotKeys = null;
+            this.slotIds = null;
+            return;
+        }
+
+        this.slotKeys = new String[count];
+        this.slotIds = new int[count];
+
+        for (int i = 0; i < count; i++) {
+            int slot = index.slot(hashes[i]);
+            slotKeys[slot] = languages.getKey(ids[i]);
+            slotIds[slot] = ids[i];
+        }
+    }
+
+    /**
+     * Get the id of a translation key.
+     * @param key The translation key.
+     * @return The id of the key, or -1 if the key is unknown.
+     */
+    int id(String key) {
+        if (index == null) {
+            return languages.getKeyId(key);
+        }
+
+        final int hash = key.hashCode();
+        final int slot = index.slot(hash);
+        final String candidate = slotKeys[slot];
+
+        if (candidate.hashCode() != hash) return -1;
+
+        if (candidate.equals(key)) {
+            return slotIds[slot];
+        }
+
+        return collisions ? languages.getKeyId(key) : -1;
+    }
+
+    int size() {
+        return languages.getKeyCount();
+    }
+
+    long generation() {
+        return generation;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2024 LCLP.
+ *
+ * Licensed under the MIT License. For more information, consider the LICENSE file in the project's root directory.
+ */
+
+package work.lclpnet.translations;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * The translations of a single message for many recipients, grouped by the locale of the recipients.
+ * @param <T> The recipient type.
+ */
+public final class TranslationBatch<T> implements Iterable<TranslationBatch.Group<T>> {
+
+    private final List<Group<T>> groups;
+
+    TranslationBatch(List<Group<T>> groups) {
+        this.groups = Collections.unmodifiableList(groups);
+    }
+
+    /**
+     * @return Every group, in order of the first recipient of each locale.
+     */
+    public List<Group<T>> getGroups() {
+        return groups;
+    }
+
+    /**
+     * @param locale The locale.
+     * @return The message for the locale, or null if no recipient has the locale.
+     */
+    @Nullable
+    public String getMessage(String locale) {
+        for (Group<T> group : groups) {
+            if (Objects.equals(group.locale, locale)) {
+                return group.message;
+            }
+        }
+
+        return null;
+    }
+
+    @NotNull
+    @Override
+    public Iterator<Group<T>> iterator() {
+        return groups.iterator();
+    }
+
+    /**
+     * Groups the recipients by locale and translates once per locale.
+     * @param recipients The recipients.
+     * @param localeGetter Gets the locale of a recipient.
+     * @param translator Translates the message for a locale.
+     * @return The grouped translations.
+     * @param <T> The recipient type.
+     */
+    static <T> TranslationBatch<T> create(Iterable<? extends T> recipients, Function<? super T, String> localeGetter,
+                                          Function<String, String> translator) {
+        Map<String, List<T>> byLocale = new LinkedHashMap<>();
+
+        for (T recipient : recipients) {
+            byLocale.computeIfAbsent(localeGetter.apply(recipient), locale -> new ArrayList<>()).add(recipient);
+        }
+
+        List<Group<T>> groups = new ArrayList<>(byLocale.size());
+
+        for (Map.Entry<String, List<T>> entry : byLocale.entrySet()) {
+            String locale = entry.getKey();
+
+            groups.add(new Group<>(locale, translator.apply(locale), Collections.unmodifiableList(entry.getValue())));
+        }
+
+        return new TranslationBatch<>(groups);
+    }
+
+    /**
+     * The recipients of a single locale, together with the message translated for them.
+     * @param <T> The recipient type.
+     */
+    public static final class Group<T> {
+
+        private final String locale;
+        private final String message;
+        private final List<T> recipients;
+
+        Group(String locale, String message, List<T> recipients) {
+            this.locale = locale;
+            this.message = message;
+            this.recipients = recipients;
+        }
+
+        public String getLocale() {
+            return locale;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public List<T> getRecipients() {
+            return recipients;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2024 LCLP.
+ *
+ * Licensed under the MIT License. For more information, consider the LICENSE file in the project's root directory.
+ */
+
+package work.lclpnet.translations;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * A pre-resolved handle for a translation key, intended to be stored in a constant.
+ * When used with a {@link DefaultLanguageTranslator}, the handle caches the id of the key within the loaded translations,
+ * so that lookups are a simple array access instead of a hash map probe.
+ * The cached id is remapped transparently after the translations were reloaded.
+ * <p>
+ * A handle may be shared between multiple translators. It caches the ids of the most recent key indices,
+ * so that alternating between a few translators, or between the old and new translations during a reload,
+ * does not remap the key on every call.
+ */
+public final class TranslationKey {
+
+    /** The number of key indices a handle caches the id for. */
+    private static final int CACHE_SIZE = 4;
+
+    private final String key;
+    /**
+     * The cached bindings. The array is read and written without synchronization;
+     * since bindings are immutable, a racing thread either sees a complete binding or remaps the key itself.
+     */
+    private final Binding[] bindings = new Binding[CACHE_SIZE];
+
+    private TranslationKey(String key) {
+        this.key = key;
+    }
+
+    @NotNull
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Get the id of this key within a given key index.
+     * @param index The key index.
+     * @return The id of this key, or -1 if the index does not contain this key.
+     */
+    int id(KeyIndex index) {
+        final long generation = index.generation();
+        final Binding[] bindings = this.bindings;
+
+        int oldest = 0;
+        long oldestGeneration = Long.MAX_VALUE;
+
+        for (int i = 0; i < CACHE_SIZE; i++) {
+            Binding binding = bindings[i];
+
+            if (binding == null) {
+                oldest = i;
+                oldestGeneration = Long.MIN_VALUE;
+                continue;
+            }
+
+            if (binding.generation == generation) {
+                return binding.id;
+            }
+
+            if (binding.generation < oldestGeneration) {
+                oldest = i;
+                oldestGeneration = binding.generation;
+            }
+        }
+
+        // generations increase with every index, so the oldest binding most likely belongs to replaced translations
+        Binding binding = new Binding(generation, index.id(key));
+        bindings[oldest] = binding;
+
+        return binding.id;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TranslationKey that = (TranslationKey) o;
+        return key.equals(that.key);
+    }
+
+    @Override
+    public int hashCode() {
+        return key.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return key;
+    }
+
+    /**
+     * Creates a new handle for a translation key.
+     * @param key The translation key.
+     * @return A handle for the given key.
+     */
+    @NotNull
+    public static TranslationKey of(String key) {
+        return new TranslationKey(Objects.requireNonNull(key, "Key is null"));
+    }
+
+    private static final class Binding {
+
+        final long generation;
+        final int id;
+
+        Binding(long generation, int id) {
+            this.generation = generation;
+            this.id = id;
+        }
+    }
+}
@@ -8,7 +8,12 @@ package work.lclpnet.translations;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.io.IOException;
 import java.text.SimpleDateFormat;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.function.Function;
 
 public interface Translator {
 
@@ -24,13 +29,109 @@ public interface Translator {
      */
     boolean hasTranslation(String locale, String key);
 
+    /**
+     * Get the date format of a given language.
+     * Note that {@link SimpleDateFormat} is not thread-safe; prefer {@link #getDateTimeFormatter(String)} instead.
+     *
+     * @param locale The locale.
+     * @return The date format of the language.
+     */
     @NotNull
     SimpleDateFormat getDateFormat(String locale);
 
+    /**
+     * Get an immutable, thread-safe formatter for the date format of a given language.
+     * The formatter uses the system default time zone, so that instants can be formatted as well.
+     *
+     * @param locale The locale.
+     * @return The date formatter of the language.
+     */
+    @NotNull
+    default DateTimeFormatter getDateTimeFormatter(String locale) {
+        return DateTimeFormatter.ofPattern(getDateFormat(locale).toPattern()).withZone(ZoneId.systemDefault());
+    }
+
+    /**
+     * Format a temporal object with the date format of a given language.
+     *
+     * @param locale   The locale.
+     * @param temporal The temporal object to format.
+     * @return The formatted date.
+     */
+    @NotNull
+    default String formatDate(String locale, TemporalAccessor temporal) {
+        return getDateTimeFormatter(locale).format(temporal);
+    }
+
     Iterable<String> getLanguages();
 
     @NotNull
     default String translate(String locale, String key, Object... substitutes) {
         return String.format(translate(locale, key), substitutes);
     }
+
+    @NotNull
+    default String translate(String locale, TranslationKey key) {
+        return translate(locale, key.getKey());
+    }
+
+    @NotNull
+    default String translate(String locale, TranslationKey key, Object... substitutes) {
+        return translate(locale, key.getKey(), substitutes);
+    }
+
+    /**
+     * Translate a message for many recipients, formatting it only once per distinct locale.
+     *
+     * @param recipients   The recipients.
+     * @param localeGetter Gets the locale of a recipient.
+     * @param key          The translation key.
+     * @param substitutes  The format arguments, equal for every recipient.
+     * @param <T>          The recipient type.
+     * @return The translated messages, grouped by locale.
+     */
+    @NotNull
+    default <T> TranslationBatch<T> translateBatch(Iterable<? extends T> recipients, Function<? super T, String> localeGetter,
+                                                   String key, Object... substitutes) {
+        return TranslationBatch.create(recipients, localeGetter, locale -> translate(locale, key, substitutes));
+    }
+
+    @NotNull
+    default <T> TranslationBatch<T> translateBatch(Iterable<? extends T> recipients, Function<? super T, String> localeGetter,
+                                                   TranslationKey key, Object... substitutes) {
+        return TranslationBatch.create(recipients, localeGetter, locale -> translate(locale, key, substitutes));
+    }
+
+    /**
+     * Translate a key and write the translation directly into an {@link Appendable}.
+     *
+     * @param out    The appendable to write to, e.g. a {@link StringBuilder} or a {@link java.nio.CharBuffer}.
+     * @param locale The locale.
+     * @param key    The translation key.
+     * @throws IOException If the appendable throws an I/O exception.
+     */
+    default void translateTo(Appendable out, String locale, String key) throws IOException {
+        out.append(translate(locale, key));
+    }
+
+    /**
+     * Translate a key, format it with the given substitutes and write the result directly into an {@link Appendable}.
+     *
+     * @param out         The appendable to write to.
+     * @param locale      The locale.
+     * @param key         The translation key.
+     * @param substitutes The format arguments.
+     * @throws IOException If the appendable throws an I/O exception.
+     */
+    default void translateTo(Appendable out, String locale, String key, Object... substitutes) throws IOException {
+        out.append(translate(locale, key, substitutes));
+    }
+
+    default void translateTo(Appendable out, String locale, TranslationKey key) throws IOException {
+        translateTo(out, locale, key.getKey());
+    }
+
+    default void translateTo(Appendable out, String locale, TranslationKey key, Object... substitutes) throws IOException {
+        translateTo(out, locale, key.getKey(), substitutes);
+    }
 }
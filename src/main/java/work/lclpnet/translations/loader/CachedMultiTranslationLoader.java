@@ -6,46 +6,183 @@
 
 package work.lclpnet.translations.loader;
 
+import org.jetbrains.annotations.Nullable;
+import work.lclpnet.translations.metrics.LoadPhase;
+import work.lclpnet.translations.metrics.TranslationMetrics;
 import work.lclpnet.translations.model.LanguageCollection;
+import work.lclpnet.translations.model.LayeredLanguageCollection;
 
-import java.util.*;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
  * A translation loader that loads from multiple underlying translation loaders.
  * It is assumed that the underlying sources are static and thereby won't change.
  * The enables caching so that translations don't have to be loaded multiple times when reloading.
+ * <p>
+ * This class is thread-safe. Concurrent loads share the same in-flight future for each underlying loader,
+ * so that every loader is only invoked once until it is invalidated.
+ * <p>
+ * The cached collections are not merged by copying, but combined in a {@link LayeredLanguageCollection}.
+ * Adding or removing a loader thereby does not copy any translations of the other loaders.
+ * <p>
+ * The load duration of every underlying loader is recorded in the {@link TranslationMetrics}
+ * under the name it was added with. Cache hits are not recorded.
  */
 public class CachedMultiTranslationLoader implements MultiSourceTranslationLoader {
 
-    private final Set<TranslationLoader> loaders = new LinkedHashSet<>();  // <-- preserves insertion order
-    private final Map<TranslationLoader, LanguageCollection> cache = new HashMap<>();
+    private final Set<TranslationLoader> loaders = new CopyOnWriteArraySet<>();  // <-- preserves insertion order
+    private final Map<TranslationLoader, CompletableFuture<LanguageCollection>> cache = new ConcurrentHashMap<>();
+    private final Map<TranslationLoader, String> names = new ConcurrentHashMap<>();
+    private final AtomicInteger added = new AtomicInteger(0);
+    private final TranslationMetrics metrics;
+    private final String name;
+
+    public CachedMultiTranslationLoader() {
+        this(TranslationMetrics.noop());
+    }
+
+    public CachedMultiTranslationLoader(TranslationMetrics metrics) {
+        this(metrics, CachedMultiTranslationLoader.class.getSimpleName());
+    }
+
+    /**
+     * @param metrics Receives the load duration of every loader.
+     * @param name The source name of this loader, used for loaders that were added without a name.
+     */
+    public CachedMultiTranslationLoader(TranslationMetrics metrics, String name) {
+        this.metrics = metrics;
+        this.name = name;
+    }
+
+    @Override
+    public TranslationMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public String getMetricName() {
+        return name;
+    }
 
     @Override
     public Stream<CompletableFuture<? extends LanguageCollection>> loadFromSources() {
-        return loaders.stream().map(loader -> {
-            LanguageCollection cached = cache.get(loader);
+        return loaders.stream().map(this::loadCached);
+    }
 
-            if (cached != null) {
-                return CompletableFuture.completedFuture(cached);
-            }
+    @Override
+    public CompletableFuture<? extends LanguageCollection> load(Executor executor) {
+        return CompletableFuture.supplyAsync(() -> loadFromSources().collect(Collectors.toList()), executor)
+                .thenCompose(futures -> CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                        .thenApply(nil -> new LayeredLanguageCollection(futures.stream()
+                                .map(CompletableFuture::join)
+                                .collect(Collectors.toList()))));
+    }
+
+    private CompletableFuture<LanguageCollection> loadCached(TranslationLoader loader) {
+        CompletableFuture<LanguageCollection> cached = cache.get(loader);
+        if (cached != null) return cached;
+
+        CompletableFuture<LanguageCollection> future = new CompletableFuture<>();
+        cached = cache.putIfAbsent(loader, future);
+
+        if (cached != null) {
+            // another thread is already loading
+            return cached;
+        }
 
-            return loader.load().thenApply(collection -> {
-                cache.put(loader, collection);
-                return collection;
-            });
+        CompletableFuture<? extends LanguageCollection> loading;
+        long start = System.nanoTime();
+
+        try {
+            loading = loader.load();
+        } catch (RuntimeException e) {
+            loading = exceptionally(e);
+        }
+
+        loading.whenComplete((collection, error) -> {
+            metrics.recordTiming(names.getOrDefault(loader, name), LoadPhase.LOAD, System.nanoTime() - start);
+
+            if (error != null) {
+                // do not cache failures
+                cache.remove(loader, future);
+                future.completeExceptionally(error);
+            } else {
+                future.complete(collection);
+            }
         });
+
+        return future;
     }
 
+    /**
+     * Adds a loader, whose load duration is recorded under the name of this loader and the position it was added at.
+     * @param loader The loader to add.
+     */
     public void add(TranslationLoader loader) {
+        add(null, loader);
+    }
+
+    /**
+     * Adds a loader, whose load duration is recorded under the given name.
+     * If the loader was already added, it keeps its name.
+     * @param name The source name of the loader, or null to name it like {@link #add(TranslationLoader)}.
+     * @param loader The loader to add.
+     */
+    public void add(@Nullable String name, TranslationLoader loader) {
         Objects.requireNonNull(loader, "Translation loader is null");
 
+        names.computeIfAbsent(loader, l -> {
+            int position = added.getAndIncrement();
+            return name != null ? name : this.name + "#" + position;
+        });
+
         loaders.add(loader);
     }
 
     public void remove(TranslationLoader loader) {
         loaders.remove(loader);
         cache.remove(loader);
+        names.remove(loader);
+    }
+
+    /**
+     * Discards the cached translations of a loader, so that it is loaded again on the next {@link #load()}.
+     * @param loader The loader whose translations should be discarded.
+     */
+    public void invalidate(TranslationLoader loader) {
+        cache.remove(loader);
+    }
+
+    /**
+     * Discards all cached translations.
+     */
+    public void invalidateAll() {
+        cache.clear();
+    }
+
+    /**
+     * Loads the translations of a single loader again, while the other loaders are served from the cache.
+     * @param loader The loader to refresh.
+     * @return A future of the merged translations of all loaders.
+     */
+    public CompletableFuture<? extends LanguageCollection> refresh(TranslationLoader loader) {
+        invalidate(loader);
+
+        return load();
+    }
+
+    private static CompletableFuture<LanguageCollection> exceptionally(Throwable error) {
+        CompletableFuture<LanguageCollection> future = new CompletableFuture<>();
+        future.completeExceptionally(error);
+        return future;
     }
 }
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2024 LCLP.
+ *
+ * Licensed under the MIT License. For more information, consider the LICENSE file in the project's root directory.
+ */
+
+package work.lclpnet.translations.loader;
+
+import org.slf4j.Logger;
+import work.lclpnet.translations.model.LanguageCollection;
+import work.lclpnet.translations.model.StaticLanguageCollection;
+import work.lclpnet.translations.pack.TranslationPack;
+import work.lclpnet.translations.pack.TranslationPackWriter;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A translation loader that memory-maps a binary translation pack, see {@link TranslationPackWriter}.
+ * Translations are served directly from the mapped file, so there is no parsing involved and the translation data
+ * stays off-heap, where it can be shared between processes via the page cache of the operating system.
+ */
+public class MappedPackTranslationLoader implements TranslationLoader {
+
+    private final Path path;
+    private final Executor executor;
+    private final Logger logger;
+
+    public MappedPackTranslationLoader(Path path, Logger logger) {
+        this(path, ForkJoinPool.commonPool(), logger);
+    }
+
+    public MappedPackTranslationLoader(Path path, Executor executor, Logger logger) {
+        this.path = path;
+        this.executor = executor;
+        this.logger = logger;
+    }
+
+    @Override
+    public CompletableFuture<? extends LanguageCollection> load() {
+        return CompletableFuture.supplyAsync(this::loadSync, executor);
+    }
+
+    private LanguageCollection loadSync() {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Translation pack is too large to be mapped");
+            }
+
+            // the mapping stays valid after the channel is closed
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            return TranslationPack.read(buffer);
+        } catch (IOException e) {
+            logger.error("Failed to load translation pack {}", path, e);
+            return new StaticLanguageCollection(Collections.emptyMap());
+        }
+    }
+}
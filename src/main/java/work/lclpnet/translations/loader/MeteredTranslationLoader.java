@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2024 LCLP.
+ *
+ * Licensed under the MIT License. For more information, consider the LICENSE file in the project's root directory.
+ */
+
+package work.lclpnet.translations.loader;
+
+import work.lclpnet.translations.metrics.LoadPhase;
+import work.lclpnet.translations.metrics.TranslationMetrics;
+import work.lclpnet.translations.model.LanguageCollection;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A translation loader that records the load duration of another loader under a given name.
+ * Failed loads are recorded as well.
+ */
+public class MeteredTranslationLoader implements TranslationLoader {
+
+    private final TranslationLoader delegate;
+    private final String name;
+    private final TranslationMetrics metrics;
+
+    public MeteredTranslationLoader(TranslationLoader delegate, String name, TranslationMetrics metrics) {
+        this.delegate = delegate;
+        this.name = name;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public CompletableFuture<? extends LanguageCollection> load() {
+        long start = System.nanoTime();
+
+        CompletableFuture<? extends LanguageCollection> future;
+
+        try {
+            future = delegate.load();
+        } catch (RuntimeException e) {
+            metrics.recordTiming(name, LoadPhase.LOAD, System.nanoTime() - start);
+            throw e;
+        }
+
+        return future.whenComplete((result, error) -> metrics.recordTiming(name, LoadPhase.LOAD, System.nanoTime() - start));
+    }
+
+    public TranslationLoader getDelegate() {
+        return delegate;
+    }
+}
@@ -6,14 +6,20 @@
 
 package work.lclpnet.translations.loader;
 
+import work.lclpnet.translations.metrics.LoadPhase;
+import work.lclpnet.translations.metrics.TranslationMetrics;
 import work.lclpnet.translations.model.LanguageCollection;
 import work.lclpnet.translations.model.MutableLanguageCollection;
+import work.lclpnet.translations.util.StringDeduplicator;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-public interface MultiSourceTranslationLoader extends  TranslationLoader {
+public interface MultiSourceTranslationLoader extends TranslationLoader {
 
     /**
      * Supplies futures of language collections to be loaded in parallel.
@@ -22,12 +28,65 @@ public interface MultiSourceTranslationLoader extends  TranslationLoader {
      */
     Stream<CompletableFuture<? extends LanguageCollection>> loadFromSources();
 
+    /**
+     * @return The metrics that receive the duration of the merge phase.
+     */
+    default TranslationMetrics getMetrics() {
+        return TranslationMetrics.noop();
+    }
+
+    /**
+     * @return The source name that the merge phase is recorded under in the {@link #getMetrics() metrics}.
+     */
+    default String getMetricName() {
+        return MultiSourceTranslationLoader.class.getSimpleName();
+    }
+
     @Override
     default CompletableFuture<? extends LanguageCollection> load() {
-        // load supplied futures in parallel, then merge all results
-        return CompletableFuture.supplyAsync(() -> MutableLanguageCollection.merge(loadFromSources()
-                .collect(Collectors.toList())  // intermediary toList() to dispatch every future at once before join()
-                .stream()
-                .map(CompletableFuture::join)));  // now join each future
+        return load(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Loads all sources in parallel, then merges all results.
+     * No thread is blocked while waiting for the sources, the merge is run as continuation once every source completed.
+     * @param executor The executor to dispatch the sources and to run the merge on.
+     * @return A future of the merged language collection.
+     */
+    default CompletableFuture<? extends LanguageCollection> load(Executor executor) {
+        return CompletableFuture.supplyAsync(() -> loadFromSources().collect(Collectors.toList()), executor)
+                .thenCompose(futures -> CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                        .thenApplyAsync(nil -> {
+                            long start = System.nanoTime();
+                            StringDeduplicator deduplicator = new StringDeduplicator();
+
+                            // every future is already completed
+                            LanguageCollection merged = MutableLanguageCollection.merge(futures.stream()
+                                    .map(CompletableFuture::join), deduplicator, executor);
+
+                            TranslationMetrics metrics = getMetrics();
+                            String source = getMetricName();
+
+                            metrics.recordTiming(source, LoadPhase.MERGE, System.nanoTime() - start);
+                            metrics.recordDeduplication(source, deduplicator.getDeduplicatedCount(), deduplicator.getSavedBytes());
+
+                            return merged;
+                        }, executor));
+    }
+
+    /**
+     * Loads all sources in parallel and publishes intermediate results as soon as each source completes.
+     * Every intermediate result contains the sources that completed so far, merged in their original order,
+     * so that the final result is the same as the result of {@link #load()}.
+     * Failed sources are left out of the intermediate results; the returned future completes exceptionally then.
+     * @param listener Receives every intermediate and the final result, in order.
+     * @param executor The executor to dispatch the sources on.
+     * @return A future of the final language collection, completed after the listener received it.
+     */
+    default CompletableFuture<? extends LanguageCollection> loadProgressively(Consumer<? super LanguageCollection> listener,
+                                                                              Executor executor) {
+        return CompletableFuture.supplyAsync(() -> loadFromSources().collect(Collectors.toList()), executor)
+                .thenCompose(futures -> ProgressiveMerge.merge(futures, listener,
+                        getMetrics(), getMetricName()));
     }
 }
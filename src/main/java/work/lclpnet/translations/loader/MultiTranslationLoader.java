@@ -6,27 +6,84 @@
 
 package work.lclpnet.translations.loader;
 
+import work.lclpnet.translations.metrics.TranslationMetrics;
 import work.lclpnet.translations.model.LanguageCollection;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
 
+/**
+ * A translation loader that loads from multiple underlying translation loaders and merges their results.
+ * <p>
+ * The load duration of every underlying loader is recorded in the {@link TranslationMetrics} under the name
+ * it was added with, the merge is recorded under the name of this loader.
+ */
 public class MultiTranslationLoader implements MultiSourceTranslationLoader {
 
-    private final List<TranslationLoader> loaders = new ArrayList<>(2);
+    private final List<MeteredTranslationLoader> loaders = new ArrayList<>(2);
+    private final TranslationMetrics metrics;
+    private final String name;
+    private int added = 0;
+
+    public MultiTranslationLoader() {
+        this(TranslationMetrics.noop());
+    }
+
+    public MultiTranslationLoader(TranslationMetrics metrics) {
+        this(metrics, MultiTranslationLoader.class.getSimpleName());
+    }
+
+    /**
+     * @param metrics Receives the load duration of every loader and the duration of merging the results.
+     * @param name The source name to record the merge under.
+     */
+    public MultiTranslationLoader(TranslationMetrics metrics, String name) {
+        this.metrics = metrics;
+        this.name = name;
+    }
 
+    /**
+     * Adds a loader, whose load duration is recorded under the name of this loader and the position it was added at.
+     * @param loader The loader to add.
+     */
     public void addLoader(TranslationLoader loader) {
+        addLoader(name + "#" + added, loader);
+    }
+
+    /**
+     * Adds a loader, whose load duration is recorded under the given name.
+     * @param name The source name of the loader.
+     * @param loader The loader to add.
+     */
+    public void addLoader(String name, TranslationLoader loader) {
         if (loader == null) {
             throw new IllegalArgumentException("Loader is null");
         }
 
-        loaders.add(loader);
+        loaders.add(new MeteredTranslationLoader(loader, name, metrics));
+        added++;
     }
 
     public void removeLoader(TranslationLoader loader) {
-        loaders.remove(loader);
+        for (Iterator<MeteredTranslationLoader> iterator = loaders.iterator(); iterator.hasNext(); ) {
+            if (iterator.next().getDelegate().equals(loader)) {
+                iterator.remove();
+                return;
+            }
+        }
+    }
+
+    @Override
+    public TranslationMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public String getMetricName() {
+        return name;
     }
 
     @Override
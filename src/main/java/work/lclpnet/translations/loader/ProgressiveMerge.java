@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2024 LCLP.
+ *
+ * Licensed under the MIT License. For more information, consider the LICENSE file in the project's root directory.
+ */
+
+package work.lclpnet.translations.loader;
+
+import work.lclpnet.translations.metrics.LoadPhase;
+import work.lclpnet.translations.metrics.TranslationMetrics;
+import work.lclpnet.translations.model.LanguageCollection;
+import work.lclpnet.translations.model.LayeredLanguageCollection;
+import work.lclpnet.translations.model.MutableLanguageCollection;
+import work.lclpnet.translations.util.StringDeduplicator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Merges the results of multiple sources as soon as each of them completes.
+ * Every intermediate result contains the completed sources in their original priority order.
+ * <p>
+ * Intermediate results are layered views over the completed sources, so that no translations are copied
+ * until the final result is merged. The lock only guards the bookkeeping; the thread that completes a source
+ * while no other thread is publishing becomes the publisher and publishes until it caught up with all completions,
+ * so that listeners observe the results in order without blocking the threads that complete other sources.
+ * The duration and the deduplication savings of the final merge are reported to the metrics.
+ */
+class ProgressiveMerge {
+
+    private final LanguageCollection[] results;
+    private final boolean[] done;
+    private final Consumer<? super LanguageCollection> listener;
+    private final TranslationMetrics metrics;
+    private final String source;
+    private final CompletableFuture<LanguageCollection> result = new CompletableFuture<>();
+    private int remaining;
+    private Throwable error = null;
+    /** Incremented with every completed source. */
+    private int version = 0;
+    /** The version that was last published. */
+    private int published = 0;
+    private boolean publishing = false;
+
+    private ProgressiveMerge(int sources, Consumer<? super LanguageCollection> listener, TranslationMetrics metrics,
+                             String source) {
+        this.results = new LanguageCollection[sources];
+        this.done = new boolean[sources];
+        this.listener = listener;
+        this.metrics = metrics;
+        this.source = source;
+        this.remaining = sources;
+    }
+
+    private void complete(int index, LanguageCollection collection, Throwable error) {
+        synchronized (this) {
+            if (done[index]) return;
+
+            done[index] = true;
+            remaining--;
+            version++;
+
+            if (error != null) {
+                fail(error);
+            } else {
+                results[index] = collection;
+            }
+
+            // the active publisher picks up this completion
+            if (publishing) return;
+
+            publishing = true;
+        }
+
+        try {
+            publish();
+        } catch (Throwable t) {
+            // never leave callers waiting
+            result.completeExceptionally(t);
+        }
+    }
+
+    private void publish() {
+        while (true) {
+            List<LanguageCollection> completed;
+            boolean last;
+
+            synchronized (this) {
+                if (published == version) {
+                    publishing = false;
+                    return;
+                }
+
+                published = version;
+                last = remaining == 0;
+                completed = new ArrayList<>(results.length);
+
+                for (LanguageCollection collection : results) {
+                    if (collection != null) {
+                        completed.add(collection);
+                    }
+                }
+            }
+
+            LanguageCollection merged = null;
+
+            try {
+                merged = last ? mergeFinal(completed) : new LayeredLanguageCollection(completed, 0);
+
+                listener.accept(merged);
+            } catch (Throwable t) {
+                synchronized (this) {
+                    fail(t);
+                }
+            }
+
+            if (!last) continue;
+
+            Throwable error;
+
+            synchronized (this) {
+                error = this.error;
+            }
+
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else {
+                result.complete(merged);
+            }
+        }
+    }
+
+    private LanguageCollection mergeFinal(List<LanguageCollection> completed) {
+        long start = System.nanoTime();
+        StringDeduplicator deduplicator = new StringDeduplicator();
+
+        LanguageCollection merged = MutableLanguageCollection.merge(completed.stream(), deduplicator);
+
+        metrics.recordTiming(source, LoadPhase.MERGE, System.nanoTime() - start);
+        metrics.recordDeduplication(source, deduplicator.getDeduplicatedCount(), deduplicator.getSavedBytes());
+
+        return merged;
+    }
+
+    private void fail(Throwable error) {
+        if (this.error == null) {
+            this.error = error;
+        }
+    }
+
+    static CompletableFuture<LanguageCollection> merge(List<CompletableFuture<? extends LanguageCollection>> sources,
+                                                       Consumer<? super LanguageCollection> listener) {
+        return merge(sources, listener, TranslationMetrics.noop(), ProgressiveMerge.class.getSimpleName());
+    }
+
+    static CompletableFuture<LanguageCollection> merge(List<CompletableFuture<? extends LanguageCollection>> sources,
+                                                       Consumer<? super LanguageCollection> listener,
+                                                       TranslationMetrics metrics, String source) {
+        ProgressiveMerge merge = new ProgressiveMerge(sources.size(), listener, metrics, source);
+
+        if (sources.isEmpty()) {
+            MutableLanguageCollection empty = new MutableLanguageCollection();
+            listener.accept(empty);
+            return CompletableFuture.completedFuture(empty);
+        }
+
+        for (int i = 0; i < sources.size(); i++) {
+            final int index = i;
+
+            sources.get(i).whenComplete((collection, error) -> merge.complete(index, collection, error));
+        }
+
+        return merge.result;
+    }
+}
@@ -7,12 +7,18 @@
 package work.lclpnet.translations.loader;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
+import work.lclpnet.translations.metrics.LoadPhase;
+import work.lclpnet.translations.metrics.TranslationMetrics;
 import work.lclpnet.translations.model.LanguageCollection;
+import work.lclpnet.translations.model.MutableLanguageCollection;
 import work.lclpnet.translations.util.IOUtil;
 import work.lclpnet.translations.util.JsonTranslationParser;
+import work.lclpnet.translations.util.StringDeduplicator;
 import work.lclpnet.translations.util.TranslationParser;
 
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -22,19 +28,28 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.security.CodeSource;
 import java.security.ProtectionDomain;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ForkJoinPool;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
 
 /**
  * A translation loader that loads all json translation files from an archive given by a URL.
  * Multiple URLs are supported for use with e.g. the Java classpath; see {@link UrlArchiveTranslationLoader#getResourceLocations(Object)}.
  * If the URL is of the file:// protocol and points to a directory, that directory is used as archive instead.
+ * <p>
+ * In parallel mode, every translation file of local archives and directories is parsed as separate task on the executor.
+ * The results are merged in the same order as they would have been parsed sequentially.
  */
 public class UrlArchiveTranslationLoader implements TranslationLoader {
 
@@ -44,6 +59,9 @@ public class UrlArchiveTranslationLoader implements TranslationLoader {
     private final Executor executor;
     private final Predicate<String> translationFilePredicate;
     private final Supplier<TranslationParser> parserFactory;
+    private final boolean parallel;
+    private final TranslationMetrics metrics;
+    private final String name;
 
     public UrlArchiveTranslationLoader(URL[] urls, Iterable<String> resourceDirectories, Logger logger,
                                        Supplier<TranslationParser> parserFactory,
@@ -54,31 +72,214 @@ public class UrlArchiveTranslationLoader implements TranslationLoader {
     public UrlArchiveTranslationLoader(URL[] urls, Iterable<String> resourceDirectories, Executor executor,
                                        Logger logger, Predicate<String> translationFilePredicate,
                                        Supplier<TranslationParser> parserFactory) {
+        this(urls, resourceDirectories, executor, logger, translationFilePredicate, parserFactory, false);
+    }
+
+    public UrlArchiveTranslationLoader(URL[] urls, Iterable<String> resourceDirectories, Executor executor,
+                                       Logger logger, Predicate<String> translationFilePredicate,
+                                       Supplier<TranslationParser> parserFactory, boolean parallel) {
+        this(urls, resourceDirectories, executor, logger, translationFilePredicate, parserFactory, parallel,
+                TranslationMetrics.noop(), UrlArchiveTranslationLoader.class.getSimpleName());
+    }
+
+    /**
+     * @param metrics Receives the parse duration of every url and the duration of merging the results.
+     * @param name The source name to record the merge under, the parse duration is recorded under each url.
+     */
+    public UrlArchiveTranslationLoader(URL[] urls, Iterable<String> resourceDirectories, Executor executor,
+                                       Logger logger, Predicate<String> translationFilePredicate,
+                                       Supplier<TranslationParser> parserFactory, boolean parallel,
+                                       TranslationMetrics metrics, String name) {
         this.urls = urls;
         this.resourceDirectories = resourceDirectories;
         this.translationFilePredicate = translationFilePredicate;
         this.parserFactory = parserFactory;
         this.logger = logger;
         this.executor = executor;
+        this.parallel = parallel;
+        this.metrics = metrics;
+        this.name = name;
     }
 
     @Override
     public CompletableFuture<? extends LanguageCollection> load() {
+        if (parallel) {
+            return loadParallel();
+        }
+
         return CompletableFuture.supplyAsync(this::loadSync, executor);
     }
 
+    private CompletableFuture<? extends LanguageCollection> loadParallel() {
+        final List<Closeable> resources = Collections.synchronizedList(new ArrayList<>());
+
+        return CompletableFuture.supplyAsync(() -> createTasks(resources), executor).thenCompose(tasks -> {
+            // dispatch every task at once, each task uses its own parser
+            List<CompletableFuture<LanguageCollection>> futures = tasks.stream()
+                    .map(task -> CompletableFuture.supplyAsync(task, executor))
+                    .collect(Collectors.toList());
+
+            return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).thenApply(nil -> {
+                long start = System.nanoTime();
+
+                StringDeduplicator deduplicator = new StringDeduplicator();
+                LanguageCollection merged = MutableLanguageCollection.merge(futures.stream().map(CompletableFuture::join),
+                        deduplicator, executor);
+
+                metrics.recordTiming(name, LoadPhase.MERGE, System.nanoTime() - start);
+                metrics.recordDeduplication(name, deduplicator.getDeduplicatedCount(), deduplicator.getSavedBytes());
+
+                logger.debug("Deduplicated {} strings while merging, saving about {} bytes",
+                        deduplicator.getDeduplicatedCount(), deduplicator.getSavedBytes());
+
+                return merged;
+            });
+        }).whenComplete((result, error) -> closeAll(resources));
+    }
+
+    private List<Supplier<LanguageCollection>> createTasks(List<Closeable> resources) {
+        List<Supplier<LanguageCollection>> tasks = new ArrayList<>();
+
+        for (URL url : urls) {
+            int offset = tasks.size();
+
+            try {
+                createTasks(url, tasks, resources);
+            } catch (IOException e) {
+                logger.error("Failed to parse resource url {}", url, e);
+            }
+
+            String source = url.toString();
+
+            for (int i = offset; i < tasks.size(); i++) {
+                tasks.set(i, timed(source, tasks.get(i)));
+            }
+        }
+
+        return tasks;
+    }
+
+    private Supplier<LanguageCollection> timed(String source, Supplier<LanguageCollection> task) {
+        return () -> {
+            long start = System.nanoTime();
+
+            try {
+                return task.get();
+            } finally {
+                metrics.recordTiming(source, LoadPhase.PARSE, System.nanoTime() - start);
+            }
+        };
+    }
+
+    private void createTasks(URL url, List<Supplier<LanguageCollection>> tasks, List<Closeable> resources) throws IOException {
+        if (url.getPath() == null) return;
+
+        Path localPath = localPath(url);
+
+        if (localPath != null && Files.isDirectory(localPath)) {
+            for (Path path : listDirectory(localPath)) {
+                tasks.add(() -> {
+                    TranslationParser parser = parserFactory.get();
+                    readFile(path, parser);
+                    return parser.build();
+                });
+            }
+
+            return;
+        }
+
+        URL jarUrl = adjustJarUrlIfNeeded(url);
+        Path jarPath = localPath(jarUrl);
+
+        if (jarPath == null) {
+            // random access is not possible, read the whole archive in a single task
+            tasks.add(() -> {
+                TranslationParser parser = parserFactory.get();
+
+                try {
+                    parseJar(jarUrl, parser);
+                } catch (IOException e) {
+                    logger.error("Failed to parse resource url {}", url, e);
+                }
+
+                return parser.build();
+            });
+
+            return;
+        }
+
+        ZipFile zip = new ZipFile(jarPath.toFile());
+        resources.add(zip);
+
+        Enumeration<? extends ZipEntry> entries = zip.entries();
+
+        while (entries.hasMoreElements()) {
+            ZipEntry entry = entries.nextElement();
+            String name = entry.getName();
+
+            if (entry.isDirectory() || !isTranslationFile(name)) continue;
+
+            tasks.add(() -> {
+                TranslationParser parser = parserFactory.get();
+
+                logger.debug("Reading zipped translation file {} ...", name);
+
+                try (InputStream in = zip.getInputStream(entry)) {
+                    parser.parse(in, IOUtil.basename(name));
+                } catch (Exception e) {
+                    logger.error("Failed to parse translation file {}", name, e);
+                }
+
+                return parser.build();
+            });
+        }
+    }
+
+    @Nullable
+    private static Path localPath(URL url) {
+        if (!"file".equals(url.getProtocol())) return null;
+
+        try {
+            return Paths.get(url.toURI());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private void closeAll(List<Closeable> resources) {
+        synchronized (resources) {
+            for (Closeable resource : resources) {
+                try {
+                    resource.close();
+                } catch (IOException e) {
+                    logger.error("Failed to close resource", e);
+                }
+            }
+        }
+    }
+
     private LanguageCollection loadSync() {
         final TranslationParser parser = parserFactory.get();
 
         for (URL url : urls) {
+            long start = System.nanoTime();
+
             try {
                 parseUrl(url, parser);
             } catch (IOException e) {
                 logger.error("Failed to parse resource url {}", url, e);
             }
+
+            metrics.recordTiming(url.toString(), LoadPhase.PARSE, System.nanoTime() - start);
         }
 
-        return parser.build();
+        long start = System.nanoTime();
+
+        LanguageCollection built = parser.build();
+
+        metrics.recordTiming(name, LoadPhase.MERGE, System.nanoTime() - start);
+
+        return built;
     }
 
     private void parseUrl(URL url, TranslationParser parser) throws IOException {
@@ -176,14 +377,20 @@ public class UrlArchiveTranslationLoader implements TranslationLoader {
             throw new IOException(String.format("Not a directory %s", dir));
         }
 
+        for (Path path : listDirectory(dir)) {
+            readFile(path, parser);
+        }
+    }
+
+    private List<Path> listDirectory(Path dir) throws IOException {
         try (Stream<Path> files = Files.walk(dir, 256)) {
-            files.filter(path -> {
+            return files.filter(path -> {
                         String rel = dir.relativize(path).toString();
                         String normalized = rel.replace(File.separatorChar, '/');
                         return isTranslationFile(normalized);
                     })
                     .sequential()
-                    .forEach(path -> readFile(path, parser));
+                    .collect(Collectors.toList());
         }
     }
 
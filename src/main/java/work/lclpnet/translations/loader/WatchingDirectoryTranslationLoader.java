@@ -0,0 +1,401 @@
+/*
+ * Copyright (c) 2024 LCLP.
+ *
+ * Licensed under the MIT License. For more information, consider the LICENSE file in the project's root directory.
+ */
+
+package work.lclpnet.translations.loader;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import work.lclpnet.translations.model.Language;
+import work.lclpnet.translations.model.LanguageCollection;
+import work.lclpnet.translations.model.MutableLanguage;
+import work.lclpnet.translations.model.StaticLanguageCollection;
+import work.lclpnet.translations.util.IOUtil;
+import work.lclpnet.translations.util.JsonTranslationParser;
+import work.lclpnet.translations.util.TranslationParser;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.InputStream;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * A translation loader for a local directory, that watches the directory for changes.
+ * The first {@link #load()} parses every translation file. Subsequent loads only re-parse files that were changed,
+ * created or deleted in the meantime and patch the affected locales into a new language collection.
+ * <p>
+ * With {@link #startWatching(Runnable)}, changes are applied in the background as soon as they happen.
+ * Some platforms only provide polling watch services, which report changes with a delay of several seconds;
+ * {@link #rescan()} re-reads the directory immediately.
+ */
+public class WatchingDirectoryTranslationLoader implements TranslationLoader, Closeable {
+
+    private final Path root;
+    private final Iterable<String> resourceDirectories;
+    private final Executor executor;
+    private final Logger logger;
+    private final Predicate<String> translationFilePredicate;
+    private final Supplier<TranslationParser> parserFactory;
+    /** The translations of every parsed file, ordered by path. */
+    private final Map<Path, LanguageCollection> files = new TreeMap<>();
+    private final Map<WatchKey, Path> watchKeys = new HashMap<>();
+    private WatchService watchService = null;
+    private Thread watcherThread = null;
+    private volatile LanguageCollection snapshot = new StaticLanguageCollection(Collections.emptyMap());
+
+    public WatchingDirectoryTranslationLoader(Path root, Iterable<String> resourceDirectories, Logger logger,
+                                              Predicate<String> translationFilePredicate,
+                                              Supplier<TranslationParser> parserFactory) {
+        this(root, resourceDirectories, ForkJoinPool.commonPool(), logger, translationFilePredicate, parserFactory);
+    }
+
+    public WatchingDirectoryTranslationLoader(Path root, Iterable<String> resourceDirectories, Executor executor,
+                                              Logger logger, Predicate<String> translationFilePredicate,
+                                              Supplier<TranslationParser> parserFactory) {
+        this.root = root;
+        this.resourceDirectories = resourceDirectories;
+        this.executor = executor;
+        this.logger = logger;
+        this.translationFilePredicate = translationFilePredicate;
+        this.parserFactory = parserFactory;
+    }
+
+    @Override
+    public CompletableFuture<? extends LanguageCollection> load() {
+        return CompletableFuture.supplyAsync(this::update, executor);
+    }
+
+    /**
+     * Re-parses every translation file, regardless of pending change events.
+     * @return A future of the current translations.
+     */
+    public CompletableFuture<? extends LanguageCollection> rescan() {
+        return CompletableFuture.supplyAsync(() -> {
+            synchronized (this) {
+                if (watchService == null) {
+                    // the first update parses every file
+                    return update();
+                }
+
+                // consume pending events, they are covered by the rescan
+                update();
+                rescanFiles();
+
+                return snapshot;
+            }
+        }, executor);
+    }
+
+    /**
+     * Starts a daemon thread that applies changes as soon as they happen.
+     * @param onChange Called after changed files were applied, e.g. to reload a translator.
+     * @throws IllegalStateException If already watching, or if the directory cannot be watched.
+     */
+    public synchronized void startWatching(Runnable onChange) {
+        if (watcherThread != null) {
+            throw new IllegalStateException("Already watching");
+        }
+
+        update();
+
+        final WatchService watchService = this.watchService;
+
+        if (watchService == null) {
+            throw new IllegalStateException("Translation directory " + root + " cannot be watched, see the log for details");
+        }
+
+        watcherThread = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key;
+
+                try {
+                    key = watchService.take();
+                } catch (InterruptedException | ClosedWatchServiceException e) {
+                    break;
+                }
+
+                synchronized (this) {
+                    Set<Path> changed = new LinkedHashSet<>();
+                    boolean overflow = collectChanges(key, changed);
+
+                    apply(changed, overflow);
+                }
+
+                try {
+                    onChange.run();
+                } catch (RuntimeException e) {
+                    logger.error("Failed to handle translation change", e);
+                }
+            }
+        }, "Translation Directory Watcher");
+
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+    }
+
+    /**
+     * Applies pending changes and returns the current translations.
+     * @return The current translations.
+     */
+    private synchronized LanguageCollection update() {
+        if (watchService == null) {
+            try {
+                watchService = root.getFileSystem().newWatchService();
+                registerAll(root);
+            } catch (IOException | UncheckedIOException e) {
+                logger.error("Failed to watch translation directory {}, changes are only applied by a rescan", root, e);
+
+                // do not watch partially, the next update or rescan tries again
+                closeWatchService();
+            }
+
+            rescanFiles();
+            return snapshot;
+        }
+
+        Set<Path> changed = new LinkedHashSet<>();
+        boolean overflow = false;
+        WatchKey key;
+
+        while ((key = watchService.poll()) != null) {
+            overflow |= collectChanges(key, changed);
+        }
+
+        apply(changed, overflow);
+
+        return snapshot;
+    }
+
+    /**
+     * Collects the changed paths of a watch key and resets it.
+     * @return True, if events were lost and a rescan is required.
+     */
+    private boolean collectChanges(WatchKey key, Set<Path> changed) {
+        Path dir = watchKeys.get(key);
+        boolean overflow = false;
+
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW) {
+                overflow = true;
+                continue;
+            }
+
+            if (dir == null) continue;
+
+            Path path = dir.resolve((Path) event.context());
+            changed.add(path);
+
+            if (event.kind() == ENTRY_CREATE && Files.isDirectory(path)) {
+                try {
+                    registerAll(path);
+                    changed.addAll(listTranslationFiles(path));
+                } catch (IOException e) {
+                    logger.error("Failed to watch translation directory {}", path, e);
+                }
+            }
+        }
+
+        if (!key.reset()) {
+            watchKeys.remove(key);
+        }
+
+        return overflow;
+    }
+
+    private void apply(Set<Path> changed, boolean overflow) {
+        if (overflow) {
+            rescanFiles();
+            return;
+        }
+
+        if (changed.isEmpty()) return;
+
+        Set<String> affectedLocales = new HashSet<>();
+
+        for (Path path : changed) {
+            // deleted directories remove every file within them
+            List<Path> removed = files.keySet().stream()
+                    .filter(file -> file.startsWith(path) && !Files.isRegularFile(file))
+                    .collect(Collectors.toList());
+
+            for (Path file : removed) {
+                addLocales(files.remove(file), affectedLocales);
+            }
+
+            if (!Files.isRegularFile(path) || !isTranslationFile(path)) continue;
+
+            addLocales(files.get(path), affectedLocales);
+
+            LanguageCollection parsed = parseFile(path);
+            files.put(path, parsed);
+
+            addLocales(parsed, affectedLocales);
+        }
+
+        logger.debug("Updating translations of locales {}", affectedLocales);
+
+        Map<String, Language> languages = new HashMap<>();
+        snapshot.keys().forEach(locale -> languages.put(locale, snapshot.get(locale)));
+
+        for (String locale : affectedLocales) {
+            Language language = mergeLocale(locale);
+
+            if (language != null) {
+                languages.put(locale, language);
+            } else {
+                languages.remove(locale);
+            }
+        }
+
+        snapshot = new StaticLanguageCollection(languages);
+    }
+
+    private void rescanFiles() {
+        files.clear();
+
+        try {
+            for (Path path : listTranslationFiles(root)) {
+                files.put(path, parseFile(path));
+            }
+        } catch (IOException e) {
+            logger.error("Failed to scan translation directory {}", root, e);
+        }
+
+        Set<String> locales = new HashSet<>();
+
+        for (LanguageCollection collection : files.values()) {
+            addLocales(collection, locales);
+        }
+
+        Map<String, Language> languages = new HashMap<>();
+
+        for (String locale : locales) {
+            Language language = mergeLocale(locale);
+
+            if (language != null) {
+                languages.put(locale, language);
+            }
+        }
+
+        snapshot = new StaticLanguageCollection(languages);
+    }
+
+    @Nullable
+    private Language mergeLocale(String locale) {
+        MutableLanguage merged = null;
+
+        for (LanguageCollection collection : files.values()) {
+            Language language = collection.get(locale);
+            if (language == null) continue;
+
+            if (merged == null) {
+                merged = new MutableLanguage();
+            }
+
+            merged.addAll(language);
+        }
+
+        return merged;
+    }
+
+    private static void addLocales(@Nullable LanguageCollection collection, Set<String> locales) {
+        if (collection == null) return;
+
+        collection.keys().forEach(locales::add);
+    }
+
+    private LanguageCollection parseFile(Path path) {
+        TranslationParser parser = parserFactory.get();
+
+        try (InputStream in = Files.newInputStream(path)) {
+            parser.parse(in, IOUtil.basename(path.getFileName().toString()));
+        } catch (Exception e) {
+            logger.error("Failed to parse translation file {}", path, e);
+        }
+
+        return parser.build();
+    }
+
+    private void registerAll(Path dir) throws IOException {
+        if (watchService == null) return;
+
+        try (Stream<Path> dirs = Files.walk(dir, 256)) {
+            for (Path path : (Iterable<Path>) dirs.filter(Files::isDirectory)::iterator) {
+                WatchKey key = path.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+                watchKeys.put(key, path);
+            }
+        }
+    }
+
+    private List<Path> listTranslationFiles(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir, 256)) {
+            return files.filter(Files::isRegularFile)
+                    .filter(this::isTranslationFile)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    protected boolean isTranslationFile(Path path) {
+        String fileName = root.relativize(path).toString().replace(File.separatorChar, '/');
+
+        if (!translationFilePredicate.test(fileName)) return false;
+        if (!fileName.endsWith(".json")) return false;
+
+        for (String directory : resourceDirectories) {
+            if (fileName.startsWith(directory)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (watcherThread != null) {
+            watcherThread.interrupt();
+            watcherThread = null;
+        }
+
+        if (watchService != null) {
+            watchService.close();
+            watchService = null;
+        }
+
+        watchKeys.clear();
+    }
+
+    private void closeWatchService() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                logger.warn("Failed to close watch service of translation directory {}", root, e);
+            }
+
+            watchService = null;
+        }
+
+        watchKeys.clear();
+    }
+
+    public static WatchingDirectoryTranslationLoader ofJson(Path root, Iterable<String> resourceDirectories, Logger logger) {
+        return new WatchingDirectoryTranslationLoader(root, resourceDirectories, logger,
+                file -> file.endsWith(".json"),
+                () -> new JsonTranslationParser(logger));
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2024 LCLP.
+ *
+ * Licensed under the MIT License. For more information, consider the LICENSE file in the project's root directory.
+ */
+
+package work.lclpnet.translations.metrics;
+
+final class CompositeTranslationMetrics implements TranslationMetrics {
+
+    private final TranslationMetrics[] metrics;
+
+    CompositeTranslationMetrics(TranslationMetrics[] metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void recordLookup(String locale, LookupResult result) {
+        for (TranslationMetrics m : metrics) {
+            m.recordLookup(locale, result);
+        }
+    }
+
+    @Override
+    public void recordMiss(String locale, String key) {
+        for (TranslationMetrics m : metrics) {
+            m.recordMiss(locale, key);
+        }
+    }
+
+    @Override
+    public void recordTiming(String source, LoadPhase phase, long nanos) {
+        for (TranslationMetrics m : metrics) {
+            m.recordTiming(source, phase, nanos);
+        }
+    }
+
+    @Override
+    public void recordDeduplication(String source, long strings, long savedBytes) {
+        for (TranslationMetrics m : metrics) {
+            m.recordDeduplication(source, strings, savedBytes);
+        }
+    }
+}
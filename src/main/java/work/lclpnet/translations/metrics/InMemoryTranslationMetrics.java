@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2024 LCLP.
+ *
+ * Licensed under the MIT License. For more information, consider the LICENSE file in the project's root directory.
+ */
+
+package work.lclpnet.translations.metrics;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps every measurement in memory, so that it can be read and exported periodically.
+ * Counters are striped {@link LongAdder}s, so that recording from many threads does not contend.
+ * <p>
+ * Locales are usually supplied by clients, so the amount of tracked locales is bounded.
+ * Once the limit is reached, lookups of further locales are counted under {@link #OTHER_LOCALES}.
+ */
+public class InMemoryTranslationMetrics implements TranslationMetrics {
+
+    /** The default maximum amount of distinct locales to track. */
+    public static final int DEFAULT_MAX_LOCALES = 256;
+    /** The locale that lookups of untracked locales are counted under. */
+    public static final String OTHER_LOCALES = "other";
+    private static final LookupResult[] RESULTS = LookupResult.values();
+
+    private final int maxLocales;
+    private final Map<String, LongAdder[]> lookups = new ConcurrentHashMap<>();
+    private final Map<String, Map<LoadPhase, Timer>> timers = new ConcurrentHashMap<>();
+    private final LongAdder deduplicatedStrings = new LongAdder();
+    private final LongAdder savedBytes = new LongAdder();
+
+    public InMemoryTranslationMetrics() {
+        this(DEFAULT_MAX_LOCALES);
+    }
+
+    /**
+     * @param maxLocales The maximum amount of distinct locales to track, the {@link #OTHER_LOCALES} bucket included.
+     *                   Concurrent recordings may exceed the limit slightly.
+     */
+    public InMemoryTranslationMetrics(int maxLocales) {
+        if (maxLocales < 1) throw new IllegalArgumentException("maxLocales must be positive");
+
+        this.maxLocales = maxLocales;
+    }
+
+    @Override
+    public void recordLookup(String locale, LookupResult result) {
+        if (locale == null) locale = "null";
+
+        LongAdder[] counters = lookups.get(locale);
+
+        if (counters == null) {
+            if (lookups.size() >= maxLocales - 1) {
+                // keep one slot for the bucket of untracked locales
+                locale = OTHER_LOCALES;
+            }
+
+            counters = lookups.computeIfAbsent(locale, l -> createCounters());
+        }
+
+        counters[result.ordinal()].increment();
+    }
+
+    @Override
+    public void recordTiming(String source, LoadPhase phase, long nanos) {
+        timers.computeIfAbsent(source, s -> Collections.synchronizedMap(new EnumMap<>(LoadPhase.class)))
+                .computeIfAbsent(phase, p -> new Timer())
+                .record(nanos);
+    }
+
+    @Override
+    public void recordDeduplication(String source, long strings, long savedBytes) {
+        this.deduplicatedStrings.add(strings);
+        this.savedBytes.add(savedBytes);
+    }
+
+    /**
+     * @return Every locale that was requested so far, up to the limit of tracked locales.
+     */
+    public Set<String> getLocales() {
+        return Collections.unmodifiableSet(lookups.keySet());
+    }
+
+    /**
+     * @param locale The requested locale.
+     * @param result The lookup result.
+     * @return The amount of lookups of the locale with the given result.
+     */
+    public long getLookups(String locale, LookupResult result) {
+        LongAdder[] counters = lookups.get(locale);
+
+        return counters != null ? counters[result.ordinal()].sum() : 0;
+    }
+
+    /**
+     * @param result The lookup result.
+     * @return The amount of lookups of any locale with the given result.
+     */
+    public long getLookups(LookupResult result) {
+        long sum = 0;
+
+        for (LongAdder[] counters : lookups.values()) {
+            sum += counters[result.ordinal()].sum();
+        }
+
+        return sum;
+    }
+
+    /**
+     * @return Every source that recorded a timing so far.
+     */
+    public Set<String> getSources() {
+        return Collections.unmodifiableSet(timers.keySet());
+    }
+
+    /**
+     * @param source The source name.
+     * @param phase The load phase.
+     * @return The timer of the source phase, or null if nothing was recorded yet.
+     */
+    @Nullable
+    public Timer getTimer(String source, LoadPhase phase) {
+        Map<LoadPhase, Timer> phases = timers.get(source);
+
+        return phases != null ? phases.get(phase) : null;
+    }
+
+    /**
+     * @return The amount of strings that were deduplicated by any source.
+     */
+    public long getDeduplicatedStrings() {
+        return deduplicatedStrings.sum();
+    }
+
+    /**
+     * @return The estimated amount of bytes that deduplication saved in any source.
+     */
+    public long getSavedBytes() {
+        return savedBytes.sum();
+    }
+
+    /**
+     * Discards every measurement.
+     */
+    public void reset() {
+        lookups.clear();
+        timers.clear();
+        deduplicatedStrings.reset();
+        savedBytes.reset();
+    }
+
+    private static LongAdder[] createCounters() {
+        LongAdder[] counters = new LongAdder[RESULTS.length];
+
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new LongAdder();
+        }
+
+        return counters;
+    }
+
+    /**
+     * Accumulated durations of a load phase.
+     */
+    public static class Timer {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getTotalNanos() {
+            return totalNanos.sum();
+        }
+
+        public long getMaxNanos() {
+            return maxNanos.get();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+/*
+ * Copyright (c) 2024 LCLP.
+ *
+ * Licensed under the MIT License. For more information, consider the LICENSE file in the project's root directory.
+ */
+
+package work.lclpnet.translations.metrics;
+
+public enum LoadPhase {
+    /**
+     * Loading of a whole source, from the call to load until the result is available.
+     */
+    LOAD,
+    /**
+     * Parsing of a single file or archive.
+     */
+    PARSE,
+    /**
+     * Merging of multiple parsed results.
+     */
+    MERGE
+}
@@ -0,0 +1,22 @@
+/*
+ * Copyright (c) 2024 LCLP.
+ *
+ * Licensed under the MIT License. For more information, consider the LICENSE file in the project's root directory.
+ */
+
+package work.lclpnet.translations.metrics;
+
+public enum LookupResult {
+    /**
+     * The requested locale translates the key.
+     */
+    HIT,
+    /**
+     * The key was translated by the default language, as the requested locale does not translate it.
+     */
+    FALLBACK,
+    /**
+     * No language translates the key, the key itself was returned.
+     */
+    MISS
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright (c) 2024 LCLP.
+ *
+ * Licensed under the MIT License. For more information, consider the LICENSE file in the project's root directory.
+ */
+
+package work.lclpnet.translations.metrics;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tracks the most frequently missed (locale, key) pairs in fixed memory.
+ * <p>
+ * Miss frequencies are estimated with a lock-free count-min sketch, which never under-estimates.
+ * The pairs with the highest estimates are kept in a bounded candidate table.
+ * Recording a miss does not allocate, unless the pair enters the candidate table.
+ * <p>
+ * To reduce the contention on the shared counters, only every n-th miss of a thread is recorded in the sketch,
+ * chosen at random and weighted by n. The estimates are approximate then, and may also under-estimate slightly.
+ * <p>
+ * Combine it with other metrics using {@link TranslationMetrics#compose(TranslationMetrics...)}.
+ */
+public class MissingKeyTracker implements TranslationMetrics {
+
+    private static final int DEPTH = 4;
+    /** The default amount of misses per thread, of which one is sampled on average. */
+    public static final int DEFAULT_SAMPLE_INTERVAL = 8;
+
+    private final int width;
+    private final int mask;
+    private final AtomicLongArray counters;
+    private final AtomicReferenceArray<Candidate> candidates;
+    private final AtomicLongArray candidateCounts;
+    private final LongAdder misses = new LongAdder();
+    private final int sampleInterval;
+    /** A lower bound of the smallest candidate count, pairs with lower estimates can not become a candidate. */
+    private volatile long candidateThreshold = 0;
+
+    public MissingKeyTracker() {
+        this(1 << 14, 32, DEFAULT_SAMPLE_INTERVAL);
+    }
+
+    /**
+     * Creates a tracker that records every miss, see {@link #MissingKeyTracker(int, int, int)}.
+     * @param width The amount of counters per sketch row, rounded up to a power of two.
+     * @param capacity The amount of most frequently missed pairs to keep.
+     */
+    public MissingKeyTracker(int width, int capacity) {
+        this(width, capacity, 1);
+    }
+
+    /**
+     * @param width The amount of counters per sketch row, rounded up to a power of two.
+     *              Higher values reduce the over-estimation of infrequent pairs.
+     * @param capacity The amount of most frequently missed pairs to keep.
+     * @param sampleInterval The amount of misses per thread, of which one is recorded on average.
+     *                       If one, every miss is recorded and the estimates never under-estimate.
+     */
+    public MissingKeyTracker(int width, int capacity, int sampleInterval) {
+        if (width < 1) throw new IllegalArgumentException("Width must be positive");
+        if (capacity < 1) throw new IllegalArgumentException("Capacity must be positive");
+        if (sampleInterval < 1) throw new IllegalArgumentException("Sample interval must be positive");
+
+        this.width = width == 1 ? 1 : Integer.highestOneBit(width - 1) << 1;
+        this.mask = this.width - 1;
+        this.counters = new AtomicLongArray(DEPTH * this.width);
+        this.candidates = new AtomicReferenceArray<>(capacity);
+        this.candidateCounts = new AtomicLongArray(capacity);
+        this.sampleInterval = sampleInterval;
+    }
+
+    @Override
+    public void recordLookup(String locale, LookupResult result) {}
+
+    @Override
+    public void recordTiming(String source, LoadPhase phase, long nanos) {}
+
+    @Override
+    public void recordMiss(String locale, String key) {
+        misses.increment();
+
+        if (sampleInterval > 1 && ThreadLocalRandom.current().nextInt(sampleInterval) != 0) return;
+
+        long hash = hash(locale, key);
+        long estimate = Long.MAX_VALUE;
+
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counters.addAndGet(index(hash, row), sampleInterval));
+        }
+
+        // candidates are at least as frequent as the threshold; an equal candidate of the pair needs no update either
+        if (estimate <= candidateThreshold) return;
+
+        offer(hash, locale, key, estimate);
+    }
+
+    private void offer(long hash, String locale, String key, long estimate) {
+        int minSlot = 0;
+        long min = Long.MAX_VALUE;
+
+        for (int i = 0, capacity = candidates.length(); i < capacity; i++) {
+            Candidate candidate = candidates.get(i);
+
+            if (candidate != null && candidate.matches(hash, locale, key)) {
+                candidateCounts.accumulateAndGet(i, estimate, Math::max);
+                return;
+            }
+
+            long count = candidate != null ? candidateCounts.get(i) : 0;
+
+            if (count < min) {
+                min = count;
+                minSlot = i;
+            }
+        }
+
+        // candidate counts only grow until the next eviction, so the minimum stays a lower bound
+        candidateThreshold = min;
+
+        if (estimate <= min) return;
+
+        // evict the least frequent candidate; concurrent offers may evict each other, which is acceptable for an estimate
+        Candidate current = candidates.get(minSlot);
+
+        if (candidates.compareAndSet(minSlot, current, new Candidate(hash, locale, key))) {
+            candidateCounts.set(minSlot, estimate);
+        }
+    }
+
+    /**
+     * @param locale The locale.
+     * @param key The key.
+     * @return The estimated amount of misses of the pair. Never lower than the actual amount.
+     */
+    public long estimate(String locale, String key) {
+        long hash = hash(locale, key);
+        long estimate = Long.MAX_VALUE;
+
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counters.get(index(hash, row)));
+        }
+
+        return estimate;
+    }
+
+    /**
+     * @return The total amount of recorded misses.
+     */
+    public long getTotalMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return The most frequently missed pairs, with the most frequent first.
+     */
+    public List<MissingKey> getTopMissing() {
+        Map<Candidate, MissingKey> missing = new HashMap<>();
+
+        for (int i = 0; i < candidates.length(); i++) {
+            Candidate candidate = candidates.get(i);
+            if (candidate == null) continue;
+
+            missing.put(candidate, new MissingKey(candidate.locale, candidate.key, estimate(candidate.locale, candidate.key)));
+        }
+
+        List<MissingKey> sorted = new ArrayList<>(missing.values());
+        sorted.sort(Comparator.comparingLong(MissingKey::getCount).reversed());
+
+        return sorted;
+    }
+
+    /**
+     * Discards every recorded miss.
+     * Misses that are recorded concurrently might be partially discarded.
+     */
+    public void clear() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, 0);
+        }
+
+        for (int i = 0; i < candidates.length(); i++) {
+            candidates.set(i, null);
+            candidateCounts.set(i, 0);
+        }
+
+        misses.reset();
+        candidateThreshold = 0;
+    }
+
+    private int index(long hash, int row) {
+        // derive the row hashes from two halves of a single hash
+        int h = (int) hash + row * (int) (hash >>> 32);
+
+        return row * width + (h & mask);
+    }
+
+    private static long hash(String locale, String key) {
+        long h = Objects.hashCode(locale) * 0x9E3779B97F4A7C15L + key.hashCode();
+
+        // murmur3 finalizer
+        h = (h ^ (h >>> 33)) * 0xFF51AFD7ED558CCDL;
+        h = (h ^ (h >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return h ^ (h >>> 33);
+    }
+
+    private static final class Candidate {
+
+        final long hash;
+        final String locale, key;
+
+        Candidate(long hash, String locale, String key) {
+            this.hash = hash;
+            this.locale = locale;
+            this.key = key;
+        }
+
+        boolean matches(long hash, String locale, String key) {
+            return this.hash == hash && Objects.equals(this.locale, locale) && this.key.equals(key);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Candidate candidate = (Candidate) o;
+            return matches(candidate.hash, candidate.locale, candidate.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(hash);
+        }
+    }
+
+    /**
+     * A frequently missed (locale, key) pair.
+     */
+    public static final class MissingKey {
+
+        private final String locale, key;
+        private final long count;
+
+        public MissingKey(String locale, String key, long count) {
+            this.locale = locale;
+            this.key = key;
+            this.count = count;
+        }
+
+        public String getLocale() {
+            return locale;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        /**
+         * @return The estimated amount of misses.
+         */
+        public long getCount() {
+            return count;
+        }
+
+        @Override
+        public String toString() {
+            return locale + ":" + key + "=" + count;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+/*
+ * Copyright (c) 2024 LCLP.
+ *
+ * Licensed under the MIT License. For more information, consider the LICENSE file in the project's root directory.
+ */
+
+package work.lclpnet.translations.metrics;
+
+final class NoopTranslationMetrics implements TranslationMetrics {
+
+    static final NoopTranslationMetrics INSTANCE = new NoopTranslationMetrics();
+
+    private NoopTranslationMetrics() {}
+
+    @Override
+    public void recordLookup(String locale, LookupResult result) {}
+
+    @Override
+    public void recordTiming(String source, LoadPhase phase, long nanos) {}
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2024 LCLP.
+ *
+ * Licensed under the MIT License. For more information, consider the LICENSE file in the project's root directory.
+ */
+
+package work.lclpnet.translations.metrics;
+
+/**
+ * Receives measurements of translation lookups and loading.
+ * Implementations are called on the lookup hot path and from loader threads concurrently,
+ * so they must be thread-safe and should not block.
+ */
+public interface TranslationMetrics {
+
+    /**
+     * Records the result of a single translation lookup.
+     * @param locale The requested locale.
+     * @param result How the lookup was resolved.
+     */
+    void recordLookup(String locale, LookupResult result);
+
+    /**
+     * Records a lookup of a key that no language translates, in addition to {@link #recordLookup(String, LookupResult)}.
+     * @param locale The requested locale.
+     * @param key The missing key.
+     */
+    default void recordMiss(String locale, String key) {}
+
+    /**
+     * Records the duration of a loading phase.
+     * @param source The name of the source, e.g. the loader or the url of an archive.
+     * @param phase The phase that was measured.
+     * @param nanos The duration in nanoseconds.
+     */
+    void recordTiming(String source, LoadPhase phase, long nanos);
+
+    /**
+     * Records the strings that were deduplicated while loading.
+     * @param source The name of the source that deduplicated the strings.
+     * @param strings The amount of strings that were replaced by an equal instance.
+     * @param savedBytes The estimated amount of bytes that were saved.
+     */
+    default void recordDeduplication(String source, long strings, long savedBytes) {}
+
+    /**
+     * @return A metrics instance that discards every measurement.
+     */
+    static TranslationMetrics noop() {
+        return NoopTranslationMetrics.INSTANCE;
+    }
+
+    /**
+     * @param metrics The metrics to combine.
+     * @return A metrics instance that passes every measurement to each of the given metrics, in order.
+     */
+    static TranslationMetrics compose(TranslationMetrics... metrics) {
+        return new CompositeTranslationMetrics(metrics.clone());
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2024 LCLP.
+ *
+ * Licensed under the MIT License. For more information, consider the LICENSE file in the project's root directory.
+ */
+
+package work.lclpnet.translations.model;
+
+import org.jetbrains.annotations.Nullable;
+import work.lclpnet.translations.util.Pair;
+
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * A language of a {@link ColumnarLanguageCollection}.
+ * The values are indexed by the ids of the key dictionary that is shared with the other languages of the collection.
+ */
+public class ColumnarLanguage implements Language {
+
+    private final Map<String, Integer> keyIds;
+    private final String[] keys;
+    private final String[] values;
+
+    ColumnarLanguage(Map<String, Integer> keyIds, String[] keys, String[] values) {
+        this.keyIds = keyIds;
+        this.keys = keys;
+        this.values = values;
+    }
+
+    @Nullable
+    @Override
+    public String get(String key) {
+        Integer id = keyIds.get(key);
+
+        return id != null ? get(id) : null;
+    }
+
+    /**
+     * Get a translation by the id of its key.
+     * @param id The key id, see {@link ColumnarLanguageCollection#getKeyId(String)}.
+     * @return The translation, or null if this language has no translation for the key.
+     */
+    @Nullable
+    public String get(int id) {
+        return values[id];
+    }
+
+    /**
+     * Check whether this language translates a key, without decoding the translation.
+     * @param id The key id.
+     * @return True, if this language has a translation for the key.
+     */
+    public boolean has(int id) {
+        return values[id] != null;
+    }
+
+    /**
+     * @return True, if the translations are decoded or resolved when they are requested, instead of being held as strings.
+     */
+    public boolean isLazilyDecoded() {
+        return false;
+    }
+
+    @Override
+    public Iterable<String> keys() {
+        return () -> presentIds().mapToObj(id -> keys[id]).iterator();
+    }
+
+    @Override
+    public boolean has(String key) {
+        Integer id = keyIds.get(key);
+
+        return id != null && has(id);
+    }
+
+    @Override
+    public Stream<Pair<String, String>> stream() {
+        return presentIds().mapToObj(id -> Pair.of(keys[id], get(id)));
+    }
+
+    private IntStream presentIds() {
+        return IntStream.range(0, keys.length).filter(this::has);
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2024 LCLP.
+ *
+ * Licensed under the MIT License. For more information, consider the LICENSE file in the project's root directory.
+ */
+
+package work.lclpnet.translations.model;
+
+import org.jetbrains.annotations.Nullable;
+import work.lclpnet.translations.util.Pair;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * An immutable language collection that stores the translation keys only once for all languages.
+ * Every key gets an id within a shared key dictionary and each language is a plain array of values, indexed by key id.
+ */
+public class ColumnarLanguageCollection implements LanguageCollection {
+
+    private final Map<String, Integer> keyIds;
+    private final String[] keys;
+    private final Map<String, ColumnarLanguage> languages;
+
+    private ColumnarLanguageCollection(Map<String, Integer> keyIds, String[] keys, Map<String, ColumnarLanguage> languages) {
+        this.keyIds = keyIds;
+        this.keys = keys;
+        this.languages = languages;
+    }
+
+    @Nullable
+    @Override
+    public ColumnarLanguage get(String key) {
+        return languages.get(key);
+    }
+
+    @Override
+    public Iterable<String> keys() {
+        return languages.keySet();
+    }
+
+    @Override
+    public Stream<Pair<String, ? extends Language>> stream() {
+        return languages.entrySet().stream().map(Pair::of);
+    }
+
+    /**
+     * Get the id of a translation key within the shared key dictionary.
+     * @param key The translation key.
+     * @return The id of the key, or -1 if no language of this collection contains the key.
+     */
+    public int getKeyId(String key) {
+        Integer id = keyIds.get(key);
+
+        return id != null ? id : -1;
+    }
+
+    /**
+     * Get the translation key of a given id.
+     * @param id The key id.
+     * @return The translation key.
+     */
+    public String getKey(int id) {
+        return keys[id];
+    }
+
+    /**
+     * @return The number of distinct translation keys across all languages of this collection.
+     */
+    public int getKeyCount() {
+        return keys.length;
+    }
+
+    /**
+     * Creates a columnar copy of a language collection.
+     * Values of {@link IndexedLanguage}s, like {@link Utf8ArenaLanguage}s or memory-mapped pack languages,
+     * are not decoded, but referenced by the copy. Languages of a {@link LayeredLanguageCollection} are kept intact as well,
+     * their values are resolved from the layers when they are requested.
+     * @param source The collection to copy.
+     * @return A new {@link ColumnarLanguageCollection} containing the translations of the source.
+     */
+    public static ColumnarLanguageCollection of(LanguageCollection source) {
+        if (source instanceof ColumnarLanguageCollection) {
+            return (ColumnarLanguageCollection) source;
+        }
+
+        Map<String, Integer> keyIds = new HashMap<>();
+        // indexed languages grouped by key table, the keys of every table are only decoded once
+        Map<Object, List<IndexedLanguage>> keyTables = new IdentityHashMap<>();
+
+        for (String locale : source.keys()) {
+            Language language = source.get(locale);
+            if (language == null) continue;
+
+            if (language instanceof IndexedLanguage) {
+                IndexedLanguage indexed = (IndexedLanguage) language;
+                keyTables.computeIfAbsent(indexed.getKeyTable(), table -> new ArrayList<>()).add(indexed);
+                continue;
+            }
+
+            for (String key : language.keys()) {
+                keyIds.putIfAbsent(key, keyIds.size());
+            }
+        }
+
+        // maps the indices of every key table to key ids
+        Map<Object, int[]> tableIds = new IdentityHashMap<>();
+
+        keyTables.forEach((table, indexedLanguages) -> {
+            IndexedLanguage first = indexedLanguages.get(0);
+            int[] ids = new int[first.size()];
+            Arrays.fill(ids, -1);
+
+            for (int i = 0; i < ids.length; i++) {
+                for (IndexedLanguage indexed : indexedLanguages) {
+                    if (!indexed.has(i)) continue;
+
+                    ids[i] = keyIds.computeIfAbsent(first.getKey(i), key -> keyIds.size());
+                    break;
+                }
+            }
+
+            tableIds.put(table, ids);
+        });
+
+        String[] keys = new String[keyIds.size()];
+        keyIds.forEach((key, id) -> keys[id] = key);
+
+        Map<String, ColumnarLanguage> languages = new LinkedHashMap<>();
+
+        for (String locale : source.keys()) {
+            Language language = source.get(locale);
+            if (language == null) continue;
+
+            if (language instanceof IndexedLanguage) {
+                // keep the values encoded, only map the key ids to the indices within the source
+                IndexedLanguage indexed = (IndexedLanguage) language;
+                int[] ids = tableIds.get(indexed.getKeyTable());
+                int[] indices = new int[keys.length];
+                Arrays.fill(indices, -1);
+
+                for (int i = 0; i < ids.length; i++) {
+                    if (indexed.has(i)) {
+                        indices[ids[i]] = i;
+                    }
+                }
+
+                languages.put(locale, new IndexedColumnarLanguage(keyIds, keys, indexed, indices));
+                continue;
+            }
+
+            if (language instanceof LayeredLanguage) {
+                languages.put(locale, new LayeredColumnarLanguage(keyIds, keys, (LayeredLanguage) language));
+                continue;
+            }
+
+            String[] values = new String[keys.length];
+
+            for (String key : language.keys()) {
+                values[keyIds.get(key)] = language.get(key);
+            }
+
+            languages.put(locale, new ColumnarLanguage(keyIds, keys, values));
+        }
+
+        return new ColumnarLanguageCollection(keyIds, keys, languages);
+    }
+}
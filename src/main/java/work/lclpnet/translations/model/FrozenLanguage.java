@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2024 LCLP.
+ *
+ * Licensed under the MIT License. For more information, consider the LICENSE file in the project's root directory.
+ */
+
+package work.lclpnet.translations.model;
+
+import org.jetbrains.annotations.Nullable;
+import work.lclpnet.translations.util.Pair;
+import work.lclpnet.translations.util.PerfectHashIndex;
+
+import java.util.*;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * An immutable language that is indexed by a minimal perfect hash over its keys.
+ * Keys and values are stored in dense arrays, so that there are no hash map nodes or collision chains.
+ * A lookup takes a single probe; absent keys are mostly rejected by comparing the cached hash of the probed key.
+ * <p>
+ * Keys whose {@link String#hashCode()} equals the one of another key are kept in a small overflow map.
+ * If no perfect hash can be found, every key is kept in the overflow map instead.
+ * <p>
+ * Additionally, the keys are kept in sorted order, so that the keys of a namespace can be listed in O(log n + k).
+ */
+public class FrozenLanguage implements Language {
+
+    @Nullable
+    private final PerfectHashIndex index;
+    private final String[] keys;
+    private final String[] values;
+    private final Map<String, String> overflow;
+    private final String[] sortedKeys;
+
+    private FrozenLanguage(@Nullable PerfectHashIndex index, String[] keys, String[] values, Map<String, String> overflow) {
+        this.index = index;
+        this.keys = keys;
+        this.values = values;
+        this.overflow = overflow;
+
+        this.sortedKeys = new String[keys.length + overflow.size()];
+        System.arraycopy(keys, 0, sortedKeys, 0, keys.length);
+
+        int i = keys.length;
+
+        for (String key : overflow.keySet()) {
+            sortedKeys[i++] = key;
+        }
+
+        Arrays.sort(sortedKeys);
+    }
+
+    @Nullable
+    @Override
+    public String get(String key) {
+        if (index == null) {
+            return overflow.get(key);
+        }
+
+        final int hash = key.hashCode();
+        final int slot = index.slot(hash);
+        final String candidate = keys[slot];
+
+        if (candidate.hashCode() != hash) return null;
+
+        if (candidate.equals(key)) {
+            return values[slot];
+        }
+
+        // another key with the same hash might be in the overflow
+        return overflow.isEmpty() ? null : overflow.get(key);
+    }
+
+    @Override
+    public Iterable<String> keys() {
+        if (overflow.isEmpty()) {
+            return Collections.unmodifiableList(Arrays.asList(keys));
+        }
+
+        List<String> all = new ArrayList<>(keys.length + overflow.size());
+        all.addAll(Arrays.asList(keys));
+        all.addAll(overflow.keySet());
+
+        return Collections.unmodifiableList(all);
+    }
+
+    @Override
+    public boolean has(String key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public Iterable<String> keys(String prefix) {
+        int from = SortedKeys.from(sortedKeys, prefix);
+        int to = SortedKeys.to(sortedKeys, prefix, from);
+
+        return Collections.unmodifiableList(Arrays.asList(sortedKeys).subList(from, to));
+    }
+
+    @Override
+    public Stream<Pair<String, String>> stream(String prefix) {
+        int from = SortedKeys.from(sortedKeys, prefix);
+        int to = SortedKeys.to(sortedKeys, prefix, from);
+
+        return IntStream.range(from, to).mapToObj(i -> Pair.of(sortedKeys[i], get(sortedKeys[i])));
+    }
+
+    @Override
+    public Stream<Pair<String, String>> stream() {
+        Stream<Pair<String, String>> indexed = IntStream.range(0, keys.length).mapToObj(i -> Pair.of(keys[i], values[i]));
+
+        if (overflow.isEmpty()) return indexed;
+
+        return Stream.concat(indexed, overflow.entrySet().stream().map(Pair::of));
+    }
+
+    /**
+     * @return True, if the keys are indexed by a perfect hash. Otherwise, a regular hash map is used.
+     */
+    public boolean isPerfectlyHashed() {
+        return index != null;
+    }
+
+    /**
+     * @return The amount of translations.
+     */
+    public int size() {
+        return keys.length + overflow.size();
+    }
+
+    /**
+     * Creates a frozen copy of a language.
+     * @param source The language to copy.
+     * @return A new {@link FrozenLanguage} containing the translations of the source.
+     */
+    public static FrozenLanguage of(Language source) {
+        if (source instanceof FrozenLanguage) {
+            return (FrozenLanguage) source;
+        }
+
+        List<String> sourceKeys = new ArrayList<>();
+        List<String> sourceValues = new ArrayList<>();
+
+        for (String key : source.keys()) {
+            String value = source.get(key);
+            if (value == null) continue;
+
+            sourceKeys.add(key);
+            sourceValues.add(value);
+        }
+
+        // sort by hash, the first key of every hash is indexed, other keys with the same hash go to the overflow
+        long[] packed = new long[sourceKeys.size()];
+
+        for (int i = 0; i < packed.length; i++) {
+            packed[i] = ((long) sourceKeys.get(i).hashCode() << 32) | i;
+        }
+
+        Arrays.sort(packed);
+
+        int[] hashes = new int[packed.length];
+        int[] indices = new int[packed.length];
+        int count = 0;
+        Map<String, String> overflow = new HashMap<>();
+
+        for (long entry : packed) {
+            int hash = (int) (entry >> 32), i = (int) entry;
+
+            if (count > 0 && hashes[count - 1] == hash) {
+                overflow.put(sourceKeys.get(i), sourceValues.get(i));
+                continue;
+            }
+
+            hashes[count] = hash;
+            indices[count++] = i;
+        }
+
+        PerfectHashIndex index = PerfectHashIndex.build(Arrays.copyOf(hashes, count));
+
+        if (index == null) {
+            Map<String, String> all = new HashMap<>(overflow);
+
+            for (int j = 0; j < count; j++) {
+                all.put(sourceKeys.get(indices[j]), sourceValues.get(indices[j]));
+            }
+
+            return new FrozenLanguage(null, new String[0], new String[0], all);
+        }
+
+        String[] keys = new String[count];
+        String[] values = new String[count];
+
+        for (int j = 0; j < count; j++) {
+            int slot = index.slot(hashes[j]);
+            keys[slot] = sourceKeys.get(indices[j]);
+            values[slot] = sourceValues.get(indices[j]);
+        }
+
+        return new FrozenLanguage(index, keys, values, overflow.isEmpty() ? Collections.emptyMap() : overflow);
+    }
+
+    /**
+     * Creates a copy of a collection, where every language is frozen.
+     * @param source The collection to copy.
+     * @return A new collection of {@link FrozenLanguage}s.
+     */
+    public static LanguageCollection freeze(LanguageCollection source) {
+        Map<String, FrozenLanguage> languages = new HashMap<>();
+
+        for (String locale : source.keys()) {
+            Language language = source.get(locale);
+            if (language == null) continue;
+
+            languages.put(locale, of(language));
+        }
+
+        return new StaticLanguageCollection(languages);
+    }
+}
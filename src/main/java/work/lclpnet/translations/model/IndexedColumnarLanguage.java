@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2024 LCLP.
+ *
+ * Licensed under the MIT License. For more information, consider the LICENSE file in the project's root directory.
+ */
+
+package work.lclpnet.translations.model;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+
+/**
+ * A columnar language whose values remain encoded in an {@link IndexedLanguage} until they are requested.
+ */
+class IndexedColumnarLanguage extends ColumnarLanguage {
+
+    private final IndexedLanguage source;
+    /** The index within the source for every key id, or -1 if the source has no translation for the key. */
+    private final int[] indices;
+
+    IndexedColumnarLanguage(Map<String, Integer> keyIds, String[] keys, IndexedLanguage source, int[] indices) {
+        super(keyIds, keys, null);
+        this.source = source;
+        this.indices = indices;
+    }
+
+    @Nullable
+    @Override
+    public String get(int id) {
+        int index = indices[id];
+
+        return index >= 0 ? source.get(index) : null;
+    }
+
+    @Override
+    public boolean has(int id) {
+        return indices[id] >= 0;
+    }
+
+    @Override
+    public boolean isLazilyDecoded() {
+        return true;
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2024 LCLP.
+ *
+ * Licensed under the MIT License. For more information, consider the LICENSE file in the project's root directory.
+ */
+
+package work.lclpnet.translations.model;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A language whose translations are addressed by a dense index and are decoded one by one when requested.
+ * {@link ColumnarLanguageCollection} keeps such languages encoded and only maps its key ids to their indices.
+ */
+public interface IndexedLanguage extends Language {
+
+    /**
+     * @return The number of indices, including those without a translation.
+     */
+    int size();
+
+    /**
+     * @param index The index.
+     * @return The key at the given index.
+     */
+    String getKey(int index);
+
+    /**
+     * Check whether there is a translation at an index, without decoding it.
+     * @param index The index.
+     * @return True, if this language has a translation at the given index.
+     */
+    boolean has(int index);
+
+    /**
+     * Decodes the translation at a given index.
+     * @param index The index.
+     * @return The translation, or null if there is no translation at the given index.
+     */
+    @Nullable
+    String get(int index);
+
+    /**
+     * Languages that return the same key table have the same key at every index, e.g. the languages of a pack.
+     * Their keys are thereby only decoded once for all of them.
+     * @return An object identifying the keys of this language.
+     */
+    default Object getKeyTable() {
+        return this;
+    }
+}
@@ -9,7 +9,9 @@ package work.lclpnet.translations.model;
 import org.jetbrains.annotations.Nullable;
 import work.lclpnet.translations.util.Pair;
 
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public interface Language {
 
@@ -21,4 +23,26 @@ public interface Language {
     boolean has(String key);
 
     Stream<Pair<String, String>> stream();
+
+    /**
+     * Get every key that starts with a given prefix, e.g. all keys of a namespace.
+     * The default implementation scans every key; indexed languages such as {@link FrozenLanguage} are faster.
+     * @param prefix The key prefix, e.g. "menu.shop.".
+     * @return The keys starting with the prefix.
+     */
+    default Iterable<String> keys(String prefix) {
+        return StreamSupport.stream(keys().spliterator(), false)
+                .filter(key -> key.startsWith(prefix))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Get every translation whose key starts with a given prefix.
+     * @param prefix The key prefix.
+     * @return A stream of the matching key-translation pairs.
+     * @see #keys(String)
+     */
+    default Stream<Pair<String, String>> stream(String prefix) {
+        return stream().filter(pair -> pair.getKey().startsWith(prefix));
+    }
 }
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2024 LCLP.
+ *
+ * Licensed under the MIT License. For more information, consider the LICENSE file in the project's root directory.
+ */
+
+package work.lclpnet.translations.model;
+
+import work.lclpnet.translations.util.StringDeduplicator;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Merges the translations of a single locale from multiple sources.
+ * The sources are split recursively, so that their entries can be copied in parallel.
+ * Translations of later sources override translations of earlier sources.
+ */
+class LanguageMergeTask extends RecursiveTask<Map<String, String>> {
+
+    private static final long serialVersionUID = 1L;
+
+    /** The minimum amount of entries for which a range of sources is split further. */
+    static final int SPLIT_THRESHOLD = 8192;
+
+    private final List<Language> sources;
+    private final int[] sizes;
+    private final StringDeduplicator deduplicator;
+    private final int from, to;
+
+    /**
+     * @param sources      The languages to merge, in order of increasing priority.
+     * @param sizes        The amount of entries per source language.
+     * @param deduplicator Canonicalizes the copied keys and values; shared by concurrent tasks.
+     */
+    LanguageMergeTask(List<Language> sources, int[] sizes, StringDeduplicator deduplicator) {
+        this(sources, sizes, deduplicator, 0, sources.size());
+    }
+
+    private LanguageMergeTask(List<Language> sources, int[] sizes, StringDeduplicator deduplicator, int from, int to) {
+        this.sources = sources;
+        this.sizes = sizes;
+        this.deduplicator = deduplicator;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    protected Map<String, String> compute() {
+        if (to - from == 1 || entryCount() < SPLIT_THRESHOLD) {
+            return copy();
+        }
+
+        int middle = (from + to) >>> 1;
+
+        LanguageMergeTask left = new LanguageMergeTask(sources, sizes, deduplicator, from, middle);
+        left.fork();
+
+        Map<String, String> higher = new LanguageMergeTask(sources, sizes, deduplicator, middle, to).compute();
+        Map<String, String> lower = left.join();
+
+        if (lower.size() >= higher.size()) {
+            lower.putAll(higher);
+            return lower;
+        }
+
+        // keep the entries of the higher priority map
+        for (Map.Entry<String, String> entry : lower.entrySet()) {
+            higher.putIfAbsent(entry.getKey(), entry.getValue());
+        }
+
+        return higher;
+    }
+
+    private Map<String, String> copy() {
+        Map<String, String> mapping = new HashMap<>(Math.max(16, (int) (entryCount() / 0.75f) + 1));
+
+        for (int i = from; i < to; i++) {
+            Language language = sources.get(i);
+
+            for (String key : language.keys()) {
+                mapping.put(deduplicator.dedupe(key), deduplicator.dedupe(language.get(key)));
+            }
+        }
+
+        return mapping;
+    }
+
+    private int entryCount() {
+        int count = 0;
+
+        for (int i = from; i < to; i++) {
+            count += sizes[i];
+        }
+
+        return count;
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2024 LCLP.
+ *
+ * Licensed under the MIT License. For more information, consider the LICENSE file in the project's root directory.
+ */
+
+package work.lclpnet.translations.model;
+
+import org.jetbrains.annotations.Nullable;
+import work.lclpnet.translations.util.Pair;
+
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * A columnar language that resolves its values from the layers of a {@link LayeredLanguage} when they are requested,
+ * instead of copying them. Lookups are sampled for compaction like lookups on the source, bulk access is not.
+ */
+class LayeredColumnarLanguage extends ColumnarLanguage {
+
+    private final String[] keys;
+    private final LayeredLanguage source;
+    /** Bitset of the key ids that are translated by any layer. */
+    private final long[] present;
+
+    LayeredColumnarLanguage(Map<String, Integer> keyIds, String[] keys, LayeredLanguage source) {
+        super(keyIds, keys, null);
+        this.keys = keys;
+        this.source = source;
+        this.present = new long[(keys.length + 63) >>> 6];
+
+        for (String key : source.keys()) {
+            int id = keyIds.get(key);
+            present[id >>> 6] |= 1L << id;
+        }
+    }
+
+    @Nullable
+    @Override
+    public String get(int id) {
+        return has(id) ? source.get(keys[id]) : null;
+    }
+
+    @Override
+    public boolean has(int id) {
+        return (present[id >>> 6] & (1L << id)) != 0;
+    }
+
+    @Override
+    public boolean isLazilyDecoded() {
+        return true;
+    }
+
+    @Override
+    public Stream<Pair<String, String>> stream() {
+        return IntStream.range(0, keys.length)
+                .filter(this::has)
+                .mapToObj(id -> Pair.of(keys[id], source.resolve(keys[id])));
+    }
+}
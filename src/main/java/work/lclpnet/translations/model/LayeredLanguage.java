@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2024 LCLP.
+ *
+ * Licensed under the MIT License. For more information, consider the LICENSE file in the project's root directory.
+ */
+
+package work.lclpnet.translations.model;
+
+import org.jetbrains.annotations.Nullable;
+import work.lclpnet.translations.util.Pair;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * A language of a {@link LayeredLanguageCollection}, that resolves translations by probing its layers.
+ * <p>
+ * While sampling is enabled, the number of probed layers per lookup is recorded.
+ * Once enough lookups were sampled and they probed notably more than one layer on average,
+ * the layers are compacted into a single table that is used for all further lookups.
+ */
+public class LayeredLanguage implements Language {
+
+    /** The average amount of probes per lookup, above which compaction pays off. */
+    private static final double COMPACTION_PROBE_RATIO = 1.25;
+    /** The maximum average amount of lookups, after which the sampled lookup count is compared to the threshold. */
+    private static final int MAX_THRESHOLD_CHECK_INTERVAL = 1024;
+
+    /** The layers, highest priority first. */
+    private final Language[] layers;
+    private final long compactionThreshold;
+    private final int thresholdCheckInterval;
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder probes = new LongAdder();
+    private volatile boolean sampling;
+    private volatile Map<String, String> compacted = null;
+
+    LayeredLanguage(Language[] layers, long compactionThreshold) {
+        this.layers = layers;
+        this.compactionThreshold = compactionThreshold;
+        this.thresholdCheckInterval = (int) Math.max(1, Math.min(MAX_THRESHOLD_CHECK_INTERVAL, compactionThreshold / 8));
+        this.sampling = compactionThreshold > 0 && layers.length > 1;
+    }
+
+    @Nullable
+    @Override
+    public String get(String key) {
+        Map<String, String> compacted = this.compacted;
+
+        if (compacted != null) {
+            return compacted.get(key);
+        }
+
+        String value = null;
+        int probed = 0;
+
+        for (Language layer : layers) {
+            probed++;
+            value = layer.get(key);
+
+            if (value != null) break;
+        }
+
+        if (sampling) {
+            sample(probed);
+        }
+
+        return value;
+    }
+
+    private void sample(int probed) {
+        lookups.increment();
+        probes.add(probed);
+
+        // summing the adders is expensive, only check the threshold every now and then
+        if (ThreadLocalRandom.current().nextInt(thresholdCheckInterval) != 0) return;
+
+        long lookupCount = lookups.sum();
+        if (lookupCount < compactionThreshold) return;
+
+        synchronized (this) {
+            if (!sampling) return;
+
+            sampling = false;
+
+            if (probes.sum() > lookupCount * COMPACTION_PROBE_RATIO) {
+                compact();
+            }
+        }
+    }
+
+    /**
+     * Resolves a translation like {@link #get(String)}, but without sampling the lookup.
+     * Used for bulk access, which does not represent the actual lookup traffic.
+     * @param key The translation key.
+     * @return The translation, or null if no layer translates the key.
+     */
+    @Nullable
+    String resolve(String key) {
+        Map<String, String> compacted = this.compacted;
+
+        if (compacted != null) {
+            return compacted.get(key);
+        }
+
+        for (Language layer : layers) {
+            String value = layer.get(key);
+
+            if (value != null) return value;
+        }
+
+        return null;
+    }
+
+    /**
+     * Merges all layers into a single table, which is used for every further lookup.
+     */
+    public synchronized void compact() {
+        if (compacted != null) return;
+
+        Map<String, String> table = new HashMap<>();
+
+        for (int i = layers.length - 1; i >= 0; i--) {
+            Language layer = layers[i];
+
+            for (String key : layer.keys()) {
+                String value = layer.get(key);
+
+                if (value != null) {
+                    table.put(key, value);
+                }
+            }
+        }
+
+        sampling = false;
+        compacted = table;
+    }
+
+    public boolean isCompacted() {
+        return compacted != null;
+    }
+
+    @Override
+    public Iterable<String> keys() {
+        Map<String, String> compacted = this.compacted;
+
+        if (compacted != null) {
+            return compacted.keySet();
+        }
+
+        return () -> keyStream().iterator();
+    }
+
+    @Override
+    public boolean has(String key) {
+        Map<String, String> compacted = this.compacted;
+
+        if (compacted != null) {
+            return compacted.containsKey(key);
+        }
+
+        for (Language layer : layers) {
+            if (layer.has(key)) return true;
+        }
+
+        return false;
+    }
+
+    @Override
+    public Stream<Pair<String, String>> stream() {
+        Map<String, String> compacted = this.compacted;
+
+        if (compacted != null) {
+            return compacted.entrySet().stream().map(Pair::of);
+        }
+
+        return keyStream().map(key -> Pair.of(key, resolve(key)));
+    }
+
+    private Stream<String> keyStream() {
+        return Arrays.stream(layers)
+                .flatMap(layer -> {
+                    Stream.Builder<String> builder = Stream.builder();
+                    layer.keys().forEach(builder);
+                    return builder.build();
+                })
+                .distinct();
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2024 LCLP.
+ *
+ * Licensed under the MIT License. For more information, consider the LICENSE file in the project's root directory.
+ */
+
+package work.lclpnet.translations.model;
+
+import org.jetbrains.annotations.Nullable;
+import work.lclpnet.translations.util.Pair;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * A read-only view over multiple language collections, without copying their translations.
+ * Layers are given in order of increasing priority, so that later layers override earlier layers,
+ * just like {@link MutableLanguageCollection#merge(Stream)} would.
+ * <p>
+ * Optionally, languages that are queried often and whose lookups regularly have to probe multiple layers
+ * are compacted into a single table, see {@link LayeredLanguage}.
+ */
+public class LayeredLanguageCollection implements LanguageCollection {
+
+    /** The default amount of sampled lookups, after which a language decides whether it should be compacted. */
+    public static final int DEFAULT_COMPACTION_THRESHOLD = 100_000;
+
+    private final List<LanguageCollection> layers;
+    private final int compactionThreshold;
+    private final Set<String> locales = new LinkedHashSet<>();
+    private final Map<String, LayeredLanguage> languages = new ConcurrentHashMap<>();
+
+    public LayeredLanguageCollection(List<? extends LanguageCollection> layers) {
+        this(layers, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    /**
+     * @param layers              The layers, in order of increasing priority.
+     * @param compactionThreshold The amount of lookups per language to sample before deciding about compaction.
+     *                            If zero or negative, languages are never compacted.
+     */
+    public LayeredLanguageCollection(List<? extends LanguageCollection> layers, int compactionThreshold) {
+        this.layers = Collections.unmodifiableList(new ArrayList<>(layers));
+        this.compactionThreshold = compactionThreshold;
+
+        for (LanguageCollection layer : this.layers) {
+            layer.keys().forEach(locales::add);
+        }
+    }
+
+    @Nullable
+    @Override
+    public Language get(String key) {
+        if (key == null) return null;
+
+        LayeredLanguage language = languages.get(key);
+        if (language != null) return language;
+
+        if (!locales.contains(key)) return null;
+
+        return languages.computeIfAbsent(key, this::createLanguage);
+    }
+
+    private LayeredLanguage createLanguage(String locale) {
+        List<Language> languages = new ArrayList<>(layers.size());
+
+        // probe the highest priority first
+        for (int i = layers.size() - 1; i >= 0; i--) {
+            Language language = layers.get(i).get(locale);
+
+            if (language != null) {
+                languages.add(language);
+            }
+        }
+
+        return new LayeredLanguage(languages.toArray(new Language[0]), compactionThreshold);
+    }
+
+    @Override
+    public Iterable<String> keys() {
+        return Collections.unmodifiableSet(locales);
+    }
+
+    @Override
+    public Stream<Pair<String, ? extends Language>> stream() {
+        return locales.stream().map(locale -> Pair.of(locale, get(locale)));
+    }
+
+    public List<LanguageCollection> getLayers() {
+        return layers;
+    }
+
+    /**
+     * Creates a new view with an additional layer of the highest priority.
+     * @param layer The layer to add.
+     * @return A new layered collection.
+     */
+    public LayeredLanguageCollection withLayer(LanguageCollection layer) {
+        List<LanguageCollection> layers = new ArrayList<>(this.layers);
+        layers.add(layer);
+
+        return new LayeredLanguageCollection(layers, compactionThreshold);
+    }
+
+    /**
+     * Creates a new view without a given layer.
+     * @param layer The layer to remove.
+     * @return A new layered collection.
+     */
+    public LayeredLanguageCollection withoutLayer(LanguageCollection layer) {
+        List<LanguageCollection> layers = new ArrayList<>(this.layers);
+        layers.remove(layer);
+
+        return new LayeredLanguageCollection(layers, compactionThreshold);
+    }
+}
@@ -16,7 +16,19 @@ import java.util.stream.Stream;
 
 public class MutableLanguage implements Language {
 
-    private final Map<String, String> mapping = Collections.synchronizedMap(new HashMap<>());
+    private final Map<String, String> mapping;
+
+    public MutableLanguage() {
+        this(new HashMap<>());
+    }
+
+    /**
+     * Creates a language that takes ownership of the given mapping.
+     * @param mapping The initial mapping; must not be used by the caller afterwards.
+     */
+    MutableLanguage(Map<String, String> mapping) {
+        this.mapping = Collections.synchronizedMap(mapping);
+    }
 
     @Override
     @Nullable
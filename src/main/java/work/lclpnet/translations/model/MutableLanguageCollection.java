@@ -8,15 +8,25 @@ package work.lclpnet.translations.model;
 
 import org.jetbrains.annotations.Nullable;
 import work.lclpnet.translations.util.Pair;
+import work.lclpnet.translations.util.StringDeduplicator;
 
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.stream.Stream;
 
 public class MutableLanguageCollection implements LanguageCollection {
 
-    private final Map<String, MutableLanguage> languages = Collections.synchronizedMap(new HashMap<>());
+    private final Map<String, MutableLanguage> languages;
+
+    public MutableLanguageCollection() {
+        this(new HashMap<>());
+    }
+
+    private MutableLanguageCollection(Map<String, MutableLanguage> languages) {
+        this.languages = Collections.synchronizedMap(languages);
+    }
 
     @Nullable
     @Override
@@ -46,21 +56,91 @@ public class MutableLanguageCollection implements LanguageCollection {
         return languages.entrySet().stream().map(Pair::of);
     }
 
+    /**
+     * Merges multiple language collections into a new collection.
+     * Translations of later collections in the stream override translations of earlier collections.
+     * Every locale is merged as separate fork/join task, large locales are additionally split across the collections.
+     * Equal keys and values are stored as a single instance, using a deduplicator scoped to this merge.
+     * Its savings are not reported, pass a deduplicator with {@link #merge(Stream, StringDeduplicator)} to observe them.
+     * @param collections The collections to merge.
+     * @return A new collection containing the merged translations.
+     */
     public static MutableLanguageCollection merge(Stream<? extends LanguageCollection> collections) {
-        // reduction could be parallelized with collections.parallel()...
+        return merge(collections, new StringDeduplicator());
+    }
 
-        return collections.reduce(new MutableLanguageCollection(), (partial, collection) -> {
-            // add every collection from the stream to the partial collection
+    /**
+     * Merges multiple language collections into a new collection, like {@link #merge(Stream)}.
+     * @param collections The collections to merge.
+     * @param deduplicator Canonicalizes the merged keys and values, e.g. to share instances with other loads.
+     * @return A new collection containing the merged translations.
+     */
+    public static MutableLanguageCollection merge(Stream<? extends LanguageCollection> collections,
+                                                  StringDeduplicator deduplicator) {
+        return merge(collections, deduplicator, ForkJoinPool.commonPool());
+    }
 
-            partial.merge(collection);
+    /**
+     * Merges multiple language collections into a new collection, like {@link #merge(Stream, StringDeduplicator)}.
+     * @param collections The collections to merge.
+     * @param deduplicator Canonicalizes the merged keys and values.
+     * @param executor The executor of the caller. If it is a {@link ForkJoinPool}, the merge tasks run in it,
+     *                 otherwise they run in the common pool.
+     * @return A new collection containing the merged translations.
+     */
+    public static MutableLanguageCollection merge(Stream<? extends LanguageCollection> collections,
+                                                  StringDeduplicator deduplicator, Executor executor) {
+        // group the languages of every collection by locale, preserving the order of the collections
+        Map<String, List<Language>> sources = new LinkedHashMap<>();
+
+        collections.forEachOrdered(collection -> {
+            for (String key : collection.keys()) {
+                Language language = collection.get(key);
+                if (language == null) continue;
+
+                sources.computeIfAbsent(key, locale -> new ArrayList<>()).add(language);
+            }
+        });
 
-            return partial;
-        }, (partial, collection) -> {
-            // combine mutable language collections
+        List<String> locales = new ArrayList<>(sources.keySet());
+        List<LanguageMergeTask> tasks = new ArrayList<>(locales.size());
 
-            partial.merge(collection);
+        for (String locale : locales) {
+            List<Language> languages = sources.get(locale);
+            int[] sizes = new int[languages.size()];
 
-            return partial;
-        });
+            for (int i = 0; i < sizes.length; i++) {
+                sizes[i] = size(languages.get(i));
+            }
+
+            tasks.add(new LanguageMergeTask(languages, sizes, deduplicator));
+        }
+
+        ForkJoinPool pool = executor instanceof ForkJoinPool ? (ForkJoinPool) executor : ForkJoinPool.commonPool();
+
+        if (ForkJoinTask.getPool() == pool) {
+            ForkJoinTask.invokeAll(tasks);
+        } else {
+            pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+        }
+
+        Map<String, MutableLanguage> merged = new HashMap<>();
+
+        for (int i = 0; i < locales.size(); i++) {
+            merged.put(locales.get(i), new MutableLanguage(tasks.get(i).join()));
+        }
+
+        return new MutableLanguageCollection(merged);
+    }
+
+    private static int size(Language language) {
+        Iterable<String> keys = language.keys();
+
+        if (keys instanceof Collection) {
+            return ((Collection<String>) keys).size();
+        }
+
+        // unknown size, avoid iterating the keys twice and assume it is worth splitting
+        return LanguageMergeTask.SPLIT_THRESHOLD;
     }
 }
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2024 LCLP.
+ *
+ * Licensed under the MIT License. For more information, consider the LICENSE file in the project's root directory.
+ */
+
+package work.lclpnet.translations.model;
+
+import java.util.Arrays;
+
+/**
+ * Prefix queries on sorted key arrays.
+ */
+final class SortedKeys {
+
+    private SortedKeys() {}
+
+    /**
+     * @param sorted The sorted keys.
+     * @param prefix The prefix.
+     * @return The index of the first key that starts with the prefix, or the index where it would be.
+     */
+    static int from(String[] sorted, String prefix) {
+        int index = Arrays.binarySearch(sorted, prefix);
+
+        return index >= 0 ? index : -index - 1;
+    }
+
+    /**
+     * @param sorted The sorted keys.
+     * @param prefix The prefix.
+     * @param from The index returned by {@link #from(String[], String)}.
+     * @return The index after the last key that starts with the prefix.
+     */
+    static int to(String[] sorted, String prefix, int from) {
+        // keys with the prefix are contiguous, find the end of the range by binary search
+        int low = from, high = sorted.length;
+
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+
+            if (sorted[middle].startsWith(prefix)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+}
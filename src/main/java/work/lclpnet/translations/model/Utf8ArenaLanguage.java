@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2024 LCLP.
+ *
+ * Licensed under the MIT License. For more information, consider the LICENSE file in the project's root directory.
+ */
+
+package work.lclpnet.translations.model;
+
+import org.jetbrains.annotations.Nullable;
+import work.lclpnet.translations.util.Pair;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * An immutable language that stores its values as UTF-8 in a single byte array.
+ * Values are only decoded when they are requested, which saves memory for languages that are rarely used,
+ * especially for scripts that need two bytes per char in a {@link String}.
+ * <p>
+ * Keys are kept sorted and are looked up by binary search, which also allows listing namespaces by prefix.
+ * Decoded values can optionally be kept in a small direct-mapped cache.
+ */
+public class Utf8ArenaLanguage implements IndexedLanguage {
+
+    private final String[] keys;
+    private final byte[] arena;
+    /** Start offsets of every value within the arena; the value at index i ends at offsets[i + 1]. */
+    private final int[] offsets;
+    private final CacheEntry[] cache;
+    private final int cacheMask;
+
+    private Utf8ArenaLanguage(String[] keys, byte[] arena, int[] offsets, int cacheSize) {
+        this.keys = keys;
+        this.arena = arena;
+        this.offsets = offsets;
+
+        if (cacheSize > 0) {
+            int size = Integer.highestOneBit(cacheSize);
+            this.cache = new CacheEntry[size];
+            this.cacheMask = size - 1;
+        } else {
+            this.cache = null;
+            this.cacheMask = 0;
+        }
+    }
+
+    @Nullable
+    @Override
+    public String get(String key) {
+        int index = indexOf(key);
+
+        return index >= 0 ? get(index) : null;
+    }
+
+    /**
+     * @param key The translation key.
+     * @return The index of the key, or a negative value if this language has no translation for the key.
+     */
+    public int indexOf(String key) {
+        return Arrays.binarySearch(keys, key);
+    }
+
+    /**
+     * Decodes the value at a given index.
+     * @param index The index, see {@link #indexOf(String)}.
+     * @return The decoded value.
+     */
+    @Override
+    public String get(int index) {
+        if (cache == null) {
+            return decode(index);
+        }
+
+        int slot = index & cacheMask;
+        CacheEntry entry = cache[slot];
+
+        if (entry != null && entry.index == index) {
+            return entry.value;
+        }
+
+        String value = decode(index);
+
+        // concurrent writes are benign, as entries are immutable
+        cache[slot] = new CacheEntry(index, value);
+
+        return value;
+    }
+
+    private String decode(int index) {
+        int offset = offsets[index];
+
+        return new String(arena, offset, offsets[index + 1] - offset, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param index The index.
+     * @return The key at the given index.
+     */
+    @Override
+    public String getKey(int index) {
+        return keys[index];
+    }
+
+    @Override
+    public boolean has(int index) {
+        // every key of an arena has a value
+        return index >= 0 && index < keys.length;
+    }
+
+    /**
+     * @return The amount of translations.
+     */
+    @Override
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * @return The size of the encoded values in bytes.
+     */
+    public int getArenaSize() {
+        return arena.length;
+    }
+
+    @Override
+    public Iterable<String> keys() {
+        return Collections.unmodifiableList(Arrays.asList(keys));
+    }
+
+    @Override
+    public boolean has(String key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public Stream<Pair<String, String>> stream() {
+        return IntStream.range(0, keys.length).mapToObj(i -> Pair.of(keys[i], get(i)));
+    }
+
+    @Override
+    public Iterable<String> keys(String prefix) {
+        int from = SortedKeys.from(keys, prefix);
+        int to = SortedKeys.to(keys, prefix, from);
+
+        return Collections.unmodifiableList(Arrays.asList(keys).subList(from, to));
+    }
+
+    @Override
+    public Stream<Pair<String, String>> stream(String prefix) {
+        int from = SortedKeys.from(keys, prefix);
+        int to = SortedKeys.to(keys, prefix, from);
+
+        return IntStream.range(from, to).mapToObj(i -> Pair.of(keys[i], get(i)));
+    }
+
+    /**
+     * Creates an arena copy of a language, without a decoded cache.
+     * @param source The language to copy.
+     * @return A new {@link Utf8ArenaLanguage} containing the translations of the source.
+     */
+    public static Utf8ArenaLanguage of(Language source) {
+        return of(source, 0);
+    }
+
+    /**
+     * Creates an arena copy of a language.
+     * @param source The language to copy.
+     * @param cacheSize The amount of decoded values to cache, rounded down to a power of two. 0 disables the cache.
+     * @return A new {@link Utf8ArenaLanguage} containing the translations of the source.
+     */
+    public static Utf8ArenaLanguage of(Language source, int cacheSize) {
+        if (cacheSize < 0) throw new IllegalArgumentException("Cache size must not be negative");
+
+        List<String> keyList = new ArrayList<>();
+
+        for (String key : source.keys()) {
+            if (source.get(key) != null) {
+                keyList.add(key);
+            }
+        }
+
+        String[] keys = keyList.toArray(new String[0]);
+        Arrays.sort(keys);
+
+        byte[][] encoded = new byte[keys.length][];
+        int[] offsets = new int[keys.length + 1];
+        long size = 0;
+
+        for (int i = 0; i < keys.length; i++) {
+            encoded[i] = Objects.requireNonNull(source.get(keys[i])).getBytes(StandardCharsets.UTF_8);
+            size += encoded[i].length;
+
+            if (size > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Language is too large to be stored in a single arena");
+            }
+
+            offsets[i + 1] = (int) size;
+        }
+
+        byte[] arena = new byte[(int) size];
+
+        for (int i = 0; i < keys.length; i++) {
+            System.arraycopy(encoded[i], 0, arena, offsets[i], encoded[i].length);
+        }
+
+        return new Utf8ArenaLanguage(keys, arena, offsets, cacheSize);
+    }
+
+    /**
+     * Creates a copy of a collection where the selected languages are stored as {@link Utf8ArenaLanguage}.
+     * Typically, every language but the default language is compacted, as they are requested less frequently.
+     * @param source The collection to copy.
+     * @param locales Selects the locales to compact; other languages are kept as they are.
+     * @return A new collection.
+     */
+    public static LanguageCollection compact(LanguageCollection source, Predicate<String> locales) {
+        Map<String, Language> languages = new HashMap<>();
+
+        for (String locale : source.keys()) {
+            Language language = source.get(locale);
+            if (language == null) continue;
+
+            languages.put(locale, locales.test(locale) ? of(language) : language);
+        }
+
+        return new StaticLanguageCollection(languages);
+    }
+
+    private static final class CacheEntry {
+
+        final int index;
+        final String value;
+
+        CacheEntry(int index, String value) {
+            this.index = index;
+            this.value = value;
+        }
+    }
+}
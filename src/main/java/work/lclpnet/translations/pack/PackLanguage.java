@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2024 LCLP.
+ *
+ * Licensed under the MIT License. For more information, consider the LICENSE file in the project's root directory.
+ */
+
+package work.lclpnet.translations.pack;
+
+import org.jetbrains.annotations.Nullable;
+import work.lclpnet.translations.model.IndexedLanguage;
+import work.lclpnet.translations.util.Pair;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * A language of a {@link TranslationPack}. Values are decoded from the pack on every access.
+ * Indices are the key ids of the pack.
+ */
+public class PackLanguage implements IndexedLanguage {
+
+    private final TranslationPack pack;
+    private final int valuesOffset;
+
+    PackLanguage(TranslationPack pack, int valuesOffset) {
+        this.pack = pack;
+        this.valuesOffset = valuesOffset;
+    }
+
+    @Nullable
+    @Override
+    public String get(String key) {
+        int id = pack.findKeyId(key);
+        if (id == -1) return null;
+
+        int offset = valueOffset(id);
+        if (offset == -1) return null;
+
+        return pack.readString(offset);
+    }
+
+    @Override
+    public int size() {
+        return pack.getKeyCount();
+    }
+
+    @Override
+    public String getKey(int index) {
+        return pack.readKey(index);
+    }
+
+    @Override
+    public boolean has(int index) {
+        return valueOffset(index) != -1;
+    }
+
+    @Nullable
+    @Override
+    public String get(int index) {
+        int offset = valueOffset(index);
+
+        return offset != -1 ? pack.readString(offset) : null;
+    }
+
+    @Override
+    public Object getKeyTable() {
+        return pack;
+    }
+
+    @Override
+    public Iterable<String> keys() {
+        return () -> presentIds().mapToObj(pack::readKey).iterator();
+    }
+
+    @Override
+    public boolean has(String key) {
+        int id = pack.findKeyId(key);
+
+        return id != -1 && valueOffset(id) != -1;
+    }
+
+    @Override
+    public Stream<Pair<String, String>> stream() {
+        return presentIds().mapToObj(id -> Pair.of(pack.readKey(id), pack.readString(valueOffset(id))));
+    }
+
+    private int valueOffset(int id) {
+        return pack.getInt(valuesOffset + id * Integer.BYTES);
+    }
+
+    private IntStream presentIds() {
+        return IntStream.range(0, pack.getKeyCount()).filter(id -> valueOffset(id) != -1);
+    }
+}
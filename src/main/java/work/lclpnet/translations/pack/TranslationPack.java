@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2024 LCLP.
+ *
+ * Licensed under the MIT License. For more information, consider the LICENSE file in the project's root directory.
+ */
+
+package work.lclpnet.translations.pack;
+
+import org.jetbrains.annotations.Nullable;
+import work.lclpnet.translations.model.Language;
+import work.lclpnet.translations.model.LanguageCollection;
+import work.lclpnet.translations.util.Pair;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * A language collection that reads translations directly from a binary translation pack.
+ * Translations are decoded from the underlying buffer on access, so the buffer can live off-heap, e.g. as memory-mapped file.
+ * <p>
+ * The pack layout (all integers big-endian) is:
+ * <pre>
+ * header:       magic, version, key count, locale count, hash table size, string table offset
+ * locales:      locale count x (string offset)
+ * hash table:   hash table size x (key hash, key id + 1 or 0 if empty)
+ * keys:         key count x (string offset)
+ * values:       locale count x key count x (string offset or -1 if absent)
+ * string table: (byte length, UTF-8 bytes)...
+ * </pre>
+ * Packs are created with {@link TranslationPackWriter}.
+ */
+public class TranslationPack implements LanguageCollection {
+
+    static final int MAGIC = 0x544C504B;  // TLPK
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 6 * Integer.BYTES;
+    static final int HASH_SLOT_SIZE = 2 * Integer.BYTES;
+
+    private final ByteBuffer buffer;
+    private final int keyCount;
+    private final int hashTableSize;
+    private final int hashTableOffset;
+    private final int keysOffset;
+    private final int valuesOffset;
+    private final int stringTableOffset;
+    private final Map<String, PackLanguage> languages;
+
+    private TranslationPack(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a translation pack");
+        }
+
+        int version = buffer.getInt(Integer.BYTES);
+
+        if (version != VERSION) {
+            throw new IOException(String.format("Unsupported translation pack version %s", version));
+        }
+
+        this.keyCount = buffer.getInt(2 * Integer.BYTES);
+        int localeCount = buffer.getInt(3 * Integer.BYTES);
+        this.hashTableSize = buffer.getInt(4 * Integer.BYTES);
+        this.stringTableOffset = buffer.getInt(5 * Integer.BYTES);
+
+        if (keyCount < 0 || localeCount < 0 || hashTableSize <= 0 || Integer.bitCount(hashTableSize) != 1
+                || stringTableOffset < 0 || stringTableOffset > buffer.limit()) {
+            throw new IOException("Corrupt translation pack header");
+        }
+
+        // compute the section offsets with longs, so that corrupt counts can not overflow
+        long hashTableOffset = HEADER_SIZE + (long) localeCount * Integer.BYTES;
+        long keysOffset = hashTableOffset + (long) hashTableSize * HASH_SLOT_SIZE;
+        long valuesOffset = keysOffset + (long) keyCount * Integer.BYTES;
+
+        if (valuesOffset + (long) localeCount * keyCount * Integer.BYTES > stringTableOffset) {
+            throw new IOException("Corrupt translation pack, the sections exceed the string table offset");
+        }
+
+        this.hashTableOffset = (int) hashTableOffset;
+        this.keysOffset = (int) keysOffset;
+        this.valuesOffset = (int) valuesOffset;
+
+        Map<String, PackLanguage> languages = new LinkedHashMap<>();
+
+        for (int i = 0; i < localeCount; i++) {
+            int localeOffset = buffer.getInt(HEADER_SIZE + i * Integer.BYTES);
+
+            if (!isStringInBounds(localeOffset)) {
+                throw new IOException("Corrupt translation pack, locale string out of bounds");
+            }
+
+            String locale = readString(localeOffset);
+            int offset = this.valuesOffset + i * keyCount * Integer.BYTES;
+
+            languages.put(locale, new PackLanguage(this, offset));
+        }
+
+        this.languages = Collections.unmodifiableMap(languages);
+    }
+
+    @Nullable
+    @Override
+    public PackLanguage get(String key) {
+        return languages.get(key);
+    }
+
+    @Override
+    public Iterable<String> keys() {
+        return languages.keySet();
+    }
+
+    @Override
+    public Stream<Pair<String, ? extends Language>> stream() {
+        return languages.entrySet().stream().map(Pair::of);
+    }
+
+    int getKeyCount() {
+        return keyCount;
+    }
+
+    /**
+     * Find the id of a translation key, without decoding any keys.
+     * @param key The translation key.
+     * @return The key id, or -1 if the pack does not contain the key.
+     */
+    int findKeyId(String key) {
+        final int hash = hash(key);
+        final int mask = hashTableSize - 1;
+
+        // every slot is probed at most once, even if a corrupt table has no empty slot
+        for (int probe = 0, slot = hash & mask; probe < hashTableSize; probe++, slot = (slot + 1) & mask) {
+            int position = hashTableOffset + slot * HASH_SLOT_SIZE;
+            int id = buffer.getInt(position + Integer.BYTES) - 1;
+
+            if (id < 0) return -1;
+
+            if (id < keyCount && buffer.getInt(position) == hash
+                    && stringEquals(buffer.getInt(keysOffset + id * Integer.BYTES), key)) {
+                return id;
+            }
+        }
+
+        return -1;
+    }
+
+    String readKey(int id) {
+        return readString(buffer.getInt(keysOffset + id * Integer.BYTES));
+    }
+
+    int getInt(int position) {
+        return buffer.getInt(position);
+    }
+
+    String readString(int offset) {
+        int position = stringTableOffset + offset;
+        int length = buffer.getInt(position);
+        position += Integer.BYTES;
+
+        if (length < 0 || (long) position + length > buffer.limit()) {
+            throw new IndexOutOfBoundsException("String exceeds the translation pack");
+        }
+
+        if (buffer.hasArray()) {
+            // decode straight from the backing array
+            return new String(buffer.array(), buffer.arrayOffset() + position, length, StandardCharsets.UTF_8);
+        }
+
+        byte[] bytes = new byte[length];
+
+        // the buffer is shared between threads, so read with a private position
+        ByteBuffer view = buffer.duplicate();
+        view.position(position);
+        view.get(bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private boolean isStringInBounds(int offset) {
+        long position = (long) stringTableOffset + offset;
+
+        if (offset < 0 || position + Integer.BYTES > buffer.limit()) return false;
+
+        int length = buffer.getInt((int) position);
+
+        return length >= 0 && position + Integer.BYTES + length <= buffer.limit();
+    }
+
+    /**
+     * Compares an encoded string of the string table with a given string, without decoding it.
+     * @param offset The offset of the encoded string within the string table.
+     * @param str The string to compare with.
+     * @return True, if the encoded string is equal to the given string.
+     */
+    private boolean stringEquals(int offset, String str) {
+        int position = stringTableOffset + offset;
+        final int end = position + Integer.BYTES + buffer.getInt(position);
+        position += Integer.BYTES;
+
+        for (int i = 0, len = str.length(); i < len; i++) {
+            int codePoint = str.codePointAt(i);
+
+            if (Character.isSupplementaryCodePoint(codePoint)) i++;
+
+            if (codePoint < 0x80) {
+                if (position >= end || buffer.get(position++) != (byte) codePoint) return false;
+            } else if (codePoint < 0x800) {
+                if (position + 2 > end
+                        || buffer.get(position++) != (byte) (0xC0 | (codePoint >> 6))
+                        || buffer.get(position++) != (byte) (0x80 | (codePoint & 0x3F))) return false;
+            } else if (codePoint < 0x10000) {
+                if (position + 3 > end
+                        || buffer.get(position++) != (byte) (0xE0 | (codePoint >> 12))
+                        || buffer.get(position++) != (byte) (0x80 | ((codePoint >> 6) & 0x3F))
+                        || buffer.get(position++) != (byte) (0x80 | (codePoint & 0x3F))) return false;
+            } else {
+                if (position + 4 > end
+                        || buffer.get(position++) != (byte) (0xF0 | (codePoint >> 18))
+                        || buffer.get(position++) != (byte) (0x80 | ((codePoint >> 12) & 0x3F))
+                        || buffer.get(position++) != (byte) (0x80 | ((codePoint >> 6) & 0x3F))
+                        || buffer.get(position++) != (byte) (0x80 | (codePoint & 0x3F))) return false;
+            }
+        }
+
+        return position == end;
+    }
+
+    static int hash(String key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Reads a translation pack from a buffer. The buffer must not be modified afterwards.
+     * @param buffer The buffer containing the pack, starting at index 0.
+     * @return A language collection backed by the buffer.
+     * @throws IOException If the buffer does not contain a valid translation pack.
+     */
+    public static TranslationPack read(ByteBuffer buffer) throws IOException {
+        return new TranslationPack(buffer);
+    }
+}
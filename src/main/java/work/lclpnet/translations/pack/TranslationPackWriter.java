@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2024 LCLP.
+ *
+ * Licensed under the MIT License. For more information, consider the LICENSE file in the project's root directory.
+ */
+
+package work.lclpnet.translations.pack;
+
+import work.lclpnet.translations.model.Language;
+import work.lclpnet.translations.model.LanguageCollection;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static work.lclpnet.translations.pack.TranslationPack.*;
+
+/**
+ * Writes language collections in the binary format read by {@link TranslationPack}.
+ */
+public class TranslationPackWriter {
+
+    private TranslationPackWriter() {}
+
+    public static void write(LanguageCollection languages, Path path) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(path))) {
+            write(languages, out);
+        }
+    }
+
+    public static void write(LanguageCollection languages, OutputStream output) throws IOException {
+        List<String> locales = new ArrayList<>();
+        Map<String, Integer> keyIds = new LinkedHashMap<>();
+
+        for (String locale : languages.keys()) {
+            Language language = languages.get(locale);
+            if (language == null) continue;
+
+            locales.add(locale);
+
+            for (String key : language.keys()) {
+                keyIds.putIfAbsent(key, keyIds.size());
+            }
+        }
+
+        final int keyCount = keyIds.size();
+        final int hashTableSize = hashTableSize(keyCount);
+
+        long stringTableOffset = HEADER_SIZE
+                + (long) locales.size() * Integer.BYTES
+                + (long) hashTableSize * HASH_SLOT_SIZE
+                + (long) keyCount * Integer.BYTES
+                + (long) locales.size() * keyCount * Integer.BYTES;
+
+        if (stringTableOffset > Integer.MAX_VALUE) {
+            throw new IOException("Too many translations for a single translation pack");
+        }
+
+        StringTable strings = new StringTable();
+
+        int[] localeOffsets = new int[locales.size()];
+
+        for (int i = 0; i < localeOffsets.length; i++) {
+            localeOffsets[i] = strings.add(locales.get(i));
+        }
+
+        int[] hashTable = new int[hashTableSize * 2];
+        int[] keyOffsets = new int[keyCount];
+        final int mask = hashTableSize - 1;
+
+        for (Map.Entry<String, Integer> entry : keyIds.entrySet()) {
+            String key = entry.getKey();
+            int id = entry.getValue();
+
+            keyOffsets[id] = strings.add(key);
+
+            int hash = hash(key);
+            int slot = hash & mask;
+
+            while (hashTable[slot * 2 + 1] != 0) {
+                slot = (slot + 1) & mask;
+            }
+
+            hashTable[slot * 2] = hash;
+            hashTable[slot * 2 + 1] = id + 1;
+        }
+
+        int[][] valueOffsets = new int[locales.size()][];
+
+        for (int i = 0; i < valueOffsets.length; i++) {
+            Language language = languages.get(locales.get(i));
+            int[] offsets = new int[keyCount];
+
+            for (Map.Entry<String, Integer> entry : keyIds.entrySet()) {
+                String value = language != null ? language.get(entry.getKey()) : null;
+
+                offsets[entry.getValue()] = value != null ? strings.add(value) : -1;
+            }
+
+            valueOffsets[i] = offsets;
+        }
+
+        if (stringTableOffset + strings.size() > Integer.MAX_VALUE) {
+            throw new IOException("Too many translations for a single translation pack");
+        }
+
+        DataOutputStream out = new DataOutputStream(output);
+
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(keyCount);
+        out.writeInt(locales.size());
+        out.writeInt(hashTableSize);
+        out.writeInt((int) stringTableOffset);
+
+        writeInts(out, localeOffsets);
+        writeInts(out, hashTable);
+        writeInts(out, keyOffsets);
+
+        for (int[] offsets : valueOffsets) {
+            writeInts(out, offsets);
+        }
+
+        strings.writeTo(out);
+
+        out.flush();
+    }
+
+    private static int hashTableSize(int keyCount) {
+        // keep the load factor at or below 0.5
+        int size = Integer.highestOneBit(Math.max(1, keyCount) * 2 - 1) << 1;
+
+        return Math.max(2, size);
+    }
+
+    private static void writeInts(DataOutputStream out, int[] values) throws IOException {
+        for (int value : values) {
+            out.writeInt(value);
+        }
+    }
+
+    /**
+     * Collects distinct strings as length-prefixed UTF-8 sequences.
+     */
+    private static class StringTable {
+
+        private final Map<String, Integer> offsets = new HashMap<>();
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(bytes);
+
+        int add(String str) throws IOException {
+            Integer offset = offsets.get(str);
+            if (offset != null) return offset;
+
+            int position = bytes.size();
+            byte[] encoded = str.getBytes(StandardCharsets.UTF_8);
+
+            out.writeInt(encoded.length);
+            out.write(encoded);
+
+            offsets.put(str, position);
+
+            return position;
+        }
+
+        int size() {
+            return bytes.size();
+        }
+
+        void writeTo(OutputStream output) throws IOException {
+            bytes.writeTo(output);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2024 LCLP.
+ *
+ * Licensed under the MIT License. For more information, consider the LICENSE file in the project's root directory.
+ */
+
+package work.lclpnet.translations.util;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Formattable;
+import java.util.Formatter;
+import java.util.List;
+
+/**
+ * A format string that is parsed once and can then be rendered repeatedly.
+ * Rendering produces the same result as {@link String#format(String, Object...)}.
+ * <p>
+ * Only plain <code>%s</code> specifiers (optionally with an explicit argument index, like <code>%2$s</code>),
+ * <code>%%</code> and <code>%n</code> are compiled.
+ * Patterns using any other format feature are delegated to {@link String#format(String, Object...)} as a whole.
+ */
+public final class FormatTemplate {
+
+    /** The expected length of a rendered argument, used to size the result buffer. */
+    private static final int EXPECTED_ARG_LENGTH = 16;
+
+    private final String pattern;
+    /** The literal text segments; literal i is followed by the argument argIndices[i]. */
+    private final String[] literals;
+    private final int[] argIndices;
+    private final boolean compiled;
+    private final int literalLength;
+
+    private FormatTemplate(String pattern, String[] literals, int[] argIndices, boolean compiled) {
+        this.pattern = pattern;
+        this.literals = literals;
+        this.argIndices = argIndices;
+        this.compiled = compiled;
+
+        int length = 0;
+
+        for (String literal : literals) {
+            length += literal.length();
+        }
+
+        this.literalLength = length;
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * Renders this template with the given arguments.
+     * @param args The format arguments.
+     * @return The formatted string.
+     * @throws java.util.IllegalFormatException Under the same conditions as {@link String#format(String, Object...)}.
+     */
+    @NotNull
+    public String format(Object... args) {
+        if (!canRender(args)) {
+            return String.format(pattern, args);
+        }
+
+        if (argIndices.length == 0) {
+            return literals[0];
+        }
+
+        // a fresh builder per call keeps this method re-entrant, arguments may translate in their toString()
+        StringBuilder builder = new StringBuilder(literalLength + argIndices.length * EXPECTED_ARG_LENGTH);
+
+        render(builder, args);
+
+        return builder.toString();
+    }
+
+    /**
+     * Renders this template with the given arguments and appends the result to a {@link StringBuilder}.
+     * @param out The builder to append to.
+     * @param args The format arguments.
+     * @throws java.util.IllegalFormatException Under the same conditions as {@link String#format(String, Object...)}.
+     */
+    public void formatTo(StringBuilder out, Object... args) {
+        if (!canRender(args)) {
+            out.append(String.format(pattern, args));
+            return;
+        }
+
+        render(out, args);
+    }
+
+    /**
+     * Renders this template with the given arguments directly into an {@link Appendable}, without creating
+     * an intermediate string for the whole result.
+     * @param out The appendable to write to.
+     * @param args The format arguments.
+     * @throws IOException If the appendable throws an I/O exception.
+     * @throws java.util.IllegalFormatException Under the same conditions as {@link String#format(String, Object...)}.
+     */
+    public void formatTo(Appendable out, Object... args) throws IOException {
+        if (!canRender(args)) {
+            Formatter formatter = new Formatter(out);
+            formatter.format(pattern, args);
+
+            IOException error = formatter.ioException();
+            if (error != null) throw error;
+
+            return;
+        }
+
+        for (int i = 0; i < argIndices.length; i++) {
+            out.append(literals[i]);
+
+            Object arg = args[argIndices[i]];
+
+            if (arg instanceof CharSequence) {
+                out.append((CharSequence) arg);
+            } else {
+                out.append(String.valueOf(arg));
+            }
+        }
+
+        out.append(literals[literals.length - 1]);
+    }
+
+    private boolean canRender(Object[] args) {
+        if (!compiled || args == null) return false;
+
+        for (int index : argIndices) {
+            // let String.format produce the appropriate exception for missing arguments
+            if (index >= args.length) return false;
+
+            // formattable arguments require a Formatter instance
+            if (args[index] instanceof Formattable) return false;
+        }
+
+        return true;
+    }
+
+    private void render(StringBuilder out, Object[] args) {
+        for (int i = 0; i < argIndices.length; i++) {
+            out.append(literals[i]);
+            out.append(args[argIndices[i]]);
+        }
+
+        out.append(literals[literals.length - 1]);
+    }
+
+    /**
+     * Parses a format pattern into a template.
+     * @param pattern The format pattern, as understood by {@link java.util.Formatter}.
+     * @return The compiled template.
+     */
+    @NotNull
+    public static FormatTemplate compile(String pattern) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> argIndices = new ArrayList<>();
+
+        StringBuilder literal = new StringBuilder();
+        final int length = pattern.length();
+        int ordinaryIndex = 0;
+        int i = 0;
+
+        while (i < length) {
+            char c = pattern.charAt(i++);
+
+            if (c != '%') {
+                literal.append(c);
+                continue;
+            }
+
+            if (i >= length) return uncompiled(pattern);
+
+            // optional explicit argument index
+            int start = i;
+            while (i < length && isDigit(pattern.charAt(i))) i++;
+
+            int explicitIndex = -1;
+
+            if (i > start) {
+                if (i >= length || pattern.charAt(i) != '$') {
+                    return uncompiled(pattern);  // width specification
+                }
+
+                try {
+                    explicitIndex = Integer.parseInt(pattern.substring(start, i));
+                } catch (NumberFormatException e) {
+                    return uncompiled(pattern);
+                }
+
+                if (explicitIndex <= 0) return uncompiled(pattern);
+
+                i++;  // skip '$'
+
+                if (i >= length) return uncompiled(pattern);
+            }
+
+            char conversion = pattern.charAt(i++);
+
+            if (conversion == 's') {
+                literals.add(literal.toString());
+                literal.setLength(0);
+
+                argIndices.add(explicitIndex != -1 ? explicitIndex - 1 : ordinaryIndex++);
+            } else if (conversion == '%' && explicitIndex == -1) {
+                literal.append('%');
+            } else if (conversion == 'n' && explicitIndex == -1) {
+                literal.append(System.lineSeparator());
+            } else {
+                // flags, precision or other conversions
+                return uncompiled(pattern);
+            }
+        }
+
+        literals.add(literal.toString());
+
+        int[] indices = new int[argIndices.size()];
+
+        for (int j = 0; j < indices.length; j++) {
+            indices[j] = argIndices.get(j);
+        }
+
+        return new FormatTemplate(pattern, literals.toArray(new String[0]), indices, true);
+    }
+
+    private static FormatTemplate uncompiled(String pattern) {
+        return new FormatTemplate(pattern, new String[] { pattern }, new int[0], false);
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -10,13 +10,18 @@ import com.google.gson.Gson;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
 import org.slf4j.Logger;
 import work.lclpnet.translations.model.LanguageCollection;
 import work.lclpnet.translations.model.MutableLanguage;
 import work.lclpnet.translations.model.StaticLanguageCollection;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.HashMap;
@@ -27,18 +32,103 @@ public class JsonTranslationParser implements TranslationParser {
     private final Gson gson = new Gson();
     private final Map<String, MutableLanguage> languages = Collections.synchronizedMap(new HashMap<>());
     private final Logger logger;
+    private final boolean streaming;
+    private final StringDeduplicator deduplicator;
 
     public JsonTranslationParser(Logger logger) {
+        this(logger, true);
+    }
+
+    /**
+     * @param logger    A logger for information.
+     * @param streaming Whether input streams should be parsed token by token.
+     *                  If false, the input is read into a string and parsed into a json tree first.
+     */
+    public JsonTranslationParser(Logger logger, boolean streaming) {
+        this(logger, streaming, new StringDeduplicator());
+    }
+
+    /**
+     * @param logger       A logger for information.
+     * @param streaming    Whether input streams should be parsed token by token.
+     * @param deduplicator Canonicalizes the parsed keys and values. May be shared with other parsers of the same load.
+     */
+    public JsonTranslationParser(Logger logger, boolean streaming, StringDeduplicator deduplicator) {
         this.logger = logger;
+        this.streaming = streaming;
+        this.deduplicator = deduplicator;
     }
 
     @Override
     public void parse(InputStream input, String language) throws IOException, JsonSyntaxException {
+        if (streaming) {
+            // the reader is not closed, as the input stream is owned by the caller
+            JsonReader reader = new JsonReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+
+            parse(reader, language);
+            return;
+        }
+
         String json = IOUtil.readString(input, StandardCharsets.UTF_8);
 
         parse(json, language);
     }
 
+    /**
+     * Reads translations from a json reader token by token.
+     * The translations are only added once the whole document was read successfully.
+     * In contrast to {@link #parse(String, String)}, entries with non-primitive values are skipped with a warning.
+     * @param reader The json reader to read a single json object from.
+     * @param languageName The language to add the translations to.
+     * @throws IOException If there was an I/O error.
+     * @throws JsonSyntaxException If the input is not a valid json object.
+     */
+    public void parse(JsonReader reader, String languageName) throws IOException, JsonSyntaxException {
+        reader.setLenient(true);  // consistent with Gson.fromJson()
+
+        try {
+            try {
+                reader.peek();
+            } catch (EOFException e) {
+                return;  // empty document
+            }
+
+            // collect the entries first, so that malformed input does not leave a partially filled language
+            Map<String, String> entries = new HashMap<>();
+
+            reader.beginObject();
+
+            while (reader.hasNext()) {
+                String key = deduplicator.dedupe(reader.nextName());
+                JsonToken token = reader.peek();
+
+                switch (token) {
+                    case STRING:
+                    case NUMBER:
+                        entries.put(key, deduplicator.dedupe(reader.nextString()));
+                        break;
+                    case BOOLEAN:
+                        entries.put(key, deduplicator.dedupe(Boolean.toString(reader.nextBoolean())));
+                        break;
+                    default:
+                        logger.warn(String.format("Unexpected json value type '%s' of key '%s'.", token, key));
+                        reader.skipValue();
+                        break;
+                }
+            }
+
+            reader.endObject();
+
+            if (reader.peek() != JsonToken.END_DOCUMENT) {
+                throw new JsonSyntaxException("JSON document was not fully consumed.");
+            }
+
+            languages.computeIfAbsent(languageName, key -> new MutableLanguage()).addAll(entries);
+        } catch (MalformedJsonException | IllegalStateException | EOFException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
     public void parse(String json, String languageName) throws JsonSyntaxException {
         JsonObject obj = gson.fromJson(json, JsonObject.class);
 
@@ -60,12 +150,19 @@ public class JsonTranslationParser implements TranslationParser {
                 continue;
             }
 
-            language.add(key, val);
+            language.add(deduplicator.dedupe(key), deduplicator.dedupe(val));
         }
     }
 
+    public StringDeduplicator getDeduplicator() {
+        return deduplicator;
+    }
+
     @Override
     public LanguageCollection build() {
+        logger.debug("Deduplicated {} strings while parsing, saving about {} bytes",
+                deduplicator.getDeduplicatedCount(), deduplicator.getSavedBytes());
+
         return new StaticLanguageCollection(languages);
     }
 }
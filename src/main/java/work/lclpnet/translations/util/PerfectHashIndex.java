@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2024 LCLP.
+ *
+ * Licensed under the MIT License. For more information, consider the LICENSE file in the project's root directory.
+ */
+
+package work.lclpnet.translations.util;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * A minimal perfect hash function over a fixed set of distinct int hashes, built with the
+ * compress, hash and displace (CHD) algorithm.
+ * Every hash of the set is mapped to a distinct slot in [0, size) with a single displacement lookup.
+ * Hashes outside the set are mapped to an arbitrary slot, so callers must verify the entry of the slot.
+ * <p>
+ * Typically, the hashes are the {@link String#hashCode()} of keys, which every string caches.
+ */
+public final class PerfectHashIndex {
+
+    /** The average amount of hashes per bucket. */
+    private static final int BUCKET_SIZE = 4;
+    private static final int MAX_ATTEMPTS = 8;
+
+    private final int size;
+    private final long seed;
+    private final int[] displacements;
+
+    private PerfectHashIndex(int size, long seed, int[] displacements) {
+        this.size = size;
+        this.seed = seed;
+        this.displacements = displacements;
+    }
+
+    /**
+     * @param hash A hash.
+     * @return The slot of the hash, in [0, size). Equal for every hash outside the set.
+     */
+    public int slot(int hash) {
+        int bucket = bucket(hash, seed, displacements.length);
+
+        return slot(base(hash, seed), displacements[bucket], size);
+    }
+
+    /**
+     * @return The amount of hashes, which equals the amount of slots.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Builds a minimal perfect hash function over a set of hashes.
+     * @param hashes The distinct hashes.
+     * @return The index, or null if no index could be found, e.g. because the hashes are not distinct.
+     */
+    @Nullable
+    public static PerfectHashIndex build(int[] hashes) {
+        if (hashes.length == 0) return null;
+
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            long seed = mix(0x9E3779B97F4A7C15L * (attempt + 1));
+
+            PerfectHashIndex index = tryBuild(hashes, seed);
+
+            if (index != null) return index;
+        }
+
+        return null;
+    }
+
+    @Nullable
+    private static PerfectHashIndex tryBuild(int[] hashes, long seed) {
+        final int size = hashes.length;
+        final int bucketCount = (size + BUCKET_SIZE - 1) / BUCKET_SIZE;
+
+        // group the hashes by bucket in a single flat array; bucket b occupies members[starts[b], starts[b + 1])
+        int[] bucketOf = new int[size];
+        int[] starts = new int[bucketCount + 1];
+
+        for (int i = 0; i < size; i++) {
+            int bucket = bucket(hashes[i], seed, bucketCount);
+            bucketOf[i] = bucket;
+            starts[bucket + 1]++;
+        }
+
+        int maxBucketSize = 0;
+
+        for (int b = 0; b < bucketCount; b++) {
+            maxBucketSize = Math.max(maxBucketSize, starts[b + 1]);
+            starts[b + 1] += starts[b];
+        }
+
+        // the slot base of every member, so that trying a displacement takes a single multiplication per member
+        long[] members = new long[size];
+        int[] fill = Arrays.copyOf(starts, bucketCount);
+
+        for (int i = 0; i < size; i++) {
+            members[fill[bucketOf[i]]++] = base(hashes[i], seed);
+        }
+
+        // place the largest buckets first, while most slots are still free; counting sort by bucket size
+        int[] sizeStarts = new int[maxBucketSize + 2];
+
+        for (int b = 0; b < bucketCount; b++) {
+            sizeStarts[maxBucketSize - (starts[b + 1] - starts[b]) + 1]++;
+        }
+
+        for (int i = 1; i < sizeStarts.length; i++) {
+            sizeStarts[i] += sizeStarts[i - 1];
+        }
+
+        int[] order = new int[bucketCount];
+
+        for (int b = 0; b < bucketCount; b++) {
+            order[sizeStarts[maxBucketSize - (starts[b + 1] - starts[b])]++] = b;
+        }
+
+        boolean[] occupied = new boolean[size];
+        int[] displacements = new int[bucketCount];
+        int[] slots = new int[maxBucketSize];
+        final long maxDisplacement = Math.max(1 << 16, 32L * size);
+
+        for (int bucketIndex : order) {
+            final int from = starts[bucketIndex], bucketSize = starts[bucketIndex + 1] - from;
+            if (bucketSize == 0) break;
+
+            boolean placed = false;
+
+            search: for (int d = 0; d < maxDisplacement; d++) {
+                for (int i = 0; i < bucketSize; i++) {
+                    int slot = slot(members[from + i], d, size);
+
+                    if (occupied[slot]) continue search;
+
+                    // slots within the same bucket must be distinct as well
+                    for (int j = 0; j < i; j++) {
+                        if (slots[j] == slot) continue search;
+                    }
+
+                    slots[i] = slot;
+                }
+
+                for (int i = 0; i < bucketSize; i++) {
+                    occupied[slots[i]] = true;
+                }
+
+                displacements[bucketIndex] = d;
+                placed = true;
+                break;
+            }
+
+            if (!placed) return null;
+        }
+
+        return new PerfectHashIndex(size, seed, displacements);
+    }
+
+    private static int bucket(int hash, long seed, int bucketCount) {
+        return reduce(mix(hash ^ seed), bucketCount);
+    }
+
+    private static long base(int hash, long seed) {
+        return mix((hash * 0xC2B2AE3D27D4EB4FL) ^ seed);
+    }
+
+    /**
+     * Double hashing: the displacement is the amount of steps from the base, the step width is derived from the base.
+     */
+    private static int slot(long base, int displacement, int size) {
+        long step = Long.rotateLeft(base, 32) | 1;
+
+        return reduce(base + displacement * step, size);
+    }
+
+    /**
+     * Maps a 64-bit hash to [0, n) by multiplication with its upper 32 bits, which is cheaper than a modulo.
+     */
+    private static int reduce(long hash, int n) {
+        return (int) (((hash >>> 32) * n) >>> 32);
+    }
+
+    private static long mix(long z) {
+        // splitmix64 finalizer
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2024 LCLP.
+ *
+ * Licensed under the MIT License. For more information, consider the LICENSE file in the project's root directory.
+ */
+
+package work.lclpnet.translations.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Canonicalizes equal strings to a single instance while loading translations.
+ * Keys are repeated in every locale and many values are equal across locales and sources,
+ * so that keeping a single instance of each saves a considerable amount of heap.
+ * <p>
+ * An instance is meant to be scoped to a single load and to be discarded afterwards,
+ * it is not a replacement for {@link String#intern()}. This class is thread-safe.
+ */
+public class StringDeduplicator {
+
+    private final Map<String, String> canonical = new ConcurrentHashMap<>();
+    private final LongAdder deduplicated = new LongAdder();
+    private final LongAdder savedBytes = new LongAdder();
+
+    /**
+     * @param str A string.
+     * @return The first instance equal to the given string that was passed to this deduplicator, or null for null.
+     */
+    public String dedupe(String str) {
+        if (str == null) return null;
+
+        String existing = canonical.putIfAbsent(str, str);
+
+        if (existing == null || existing == str) return str;
+
+        deduplicated.increment();
+        savedBytes.add(estimateSize(str));
+
+        return existing;
+    }
+
+    /**
+     * @return The amount of strings that were replaced with an existing instance.
+     */
+    public long getDeduplicatedCount() {
+        return deduplicated.sum();
+    }
+
+    /**
+     * @return The estimated amount of bytes the replaced instances occupied.
+     */
+    public long getSavedBytes() {
+        return savedBytes.sum();
+    }
+
+    /**
+     * Estimates the shallow size of a string and its character array,
+     * assuming compressed object pointers and two bytes per character.
+     * @param str The string.
+     * @return The estimated size in bytes.
+     */
+    static long estimateSize(String str) {
+        long array = 16 + 2L * str.length();
+
+        return 24 + ((array + 7) & ~7L);
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2024 LCLP.
+ *
+ * Licensed under the MIT License. For more information, consider the LICENSE file in the project's root directory.
+ */
+
+package work.lclpnet.translations.util;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * An {@link Appendable} that encodes the appended characters as UTF-8 directly into a {@link ByteBuffer},
+ * e.g. a network buffer. No intermediate strings or encoder instances are created.
+ * <p>
+ * Surrogate pairs may be split across multiple append calls.
+ * Unpaired surrogates are encoded as '?', like {@link String#getBytes(java.nio.charset.Charset)} does.
+ * Call {@link #finish()} after the last append, to encode a trailing unpaired high surrogate.
+ * <p>
+ * If the buffer does not have enough space for a character, a {@link BufferOverflowException} is thrown
+ * and no bytes of that character are written.
+ */
+public class Utf8ByteBufferAppendable implements Appendable {
+
+    private final ByteBuffer buffer;
+    private char pendingHighSurrogate = 0;
+
+    public Utf8ByteBufferAppendable(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    public ByteBuffer getBuffer() {
+        return buffer;
+    }
+
+    @Override
+    public Utf8ByteBufferAppendable append(CharSequence csq) {
+        if (csq == null) csq = "null";
+
+        return append(csq, 0, csq.length());
+    }
+
+    @Override
+    public Utf8ByteBufferAppendable append(CharSequence csq, int start, int end) {
+        if (csq == null) csq = "null";
+
+        if (start < 0 || end > csq.length() || start > end) {
+            throw new IndexOutOfBoundsException(String.format("start %d, end %d, length %d", start, end, csq.length()));
+        }
+
+        for (int i = start; i < end; i++) {
+            append(csq.charAt(i));
+        }
+
+        return this;
+    }
+
+    @Override
+    public Utf8ByteBufferAppendable append(char c) {
+        if (pendingHighSurrogate != 0) {
+            if (Character.isLowSurrogate(c)) {
+                int codePoint = Character.toCodePoint(pendingHighSurrogate, c);
+                require(4);
+                pendingHighSurrogate = 0;
+
+                buffer.put((byte) (0xF0 | (codePoint >> 18)));
+                buffer.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+                return this;
+            }
+
+            require(1);
+            pendingHighSurrogate = 0;
+            buffer.put((byte) '?');
+        }
+
+        if (c < 0x80) {
+            require(1);
+            buffer.put((byte) c);
+        } else if (c < 0x800) {
+            require(2);
+            buffer.put((byte) (0xC0 | (c >> 6)));
+            buffer.put((byte) (0x80 | (c & 0x3F)));
+        } else if (Character.isHighSurrogate(c)) {
+            pendingHighSurrogate = c;
+        } else if (Character.isLowSurrogate(c)) {
+            require(1);
+            buffer.put((byte) '?');
+        } else {
+            require(3);
+            buffer.put((byte) (0xE0 | (c >> 12)));
+            buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+            buffer.put((byte) (0x80 | (c & 0x3F)));
+        }
+
+        return this;
+    }
+
+    /**
+     * Encodes a trailing unpaired high surrogate, if there is one.
+     * @return This appendable.
+     */
+    public Utf8ByteBufferAppendable finish() {
+        if (pendingHighSurrogate != 0) {
+            require(1);
+            pendingHighSurrogate = 0;
+            buffer.put((byte) '?');
+        }
+
+        return this;
+    }
+
+    private void require(int bytes) {
+        if (buffer.remaining() < bytes) {
+            throw new BufferOverflowException();
+        }
+    }
+}
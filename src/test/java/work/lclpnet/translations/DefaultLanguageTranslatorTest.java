@@ -6,18 +6,36 @@
 
 package work.lclpnet.translations;
 
+import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
 import work.lclpnet.translations.loader.MultiTranslationLoader;
 import work.lclpnet.translations.loader.SPITranslationLoader;
 import work.lclpnet.translations.loader.TranslationLoader;
+import work.lclpnet.translations.metrics.InMemoryTranslationMetrics;
+import work.lclpnet.translations.metrics.LoadPhase;
+import work.lclpnet.translations.metrics.LookupResult;
 import work.lclpnet.translations.model.Language;
 import work.lclpnet.translations.model.StaticLanguage;
 import work.lclpnet.translations.model.StaticLanguageCollection;
-
+import work.lclpnet.translations.model.Utf8ArenaLanguage;
+import work.lclpnet.translations.util.Utf8ByteBufferAppendable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class DefaultLanguageTranslatorTest {
@@ -133,4 +151,501 @@ class DefaultLanguageTranslatorTest {
 
         assertEquals(new HashSet<>(Arrays.asList("en_us", "de_de")), languages);
     }
-}
\ No newline at end of file
+
+    @Test
+    void reload_swapsTranslations() {
+        AtomicInteger version = new AtomicInteger(0);
+
+        TranslationLoader loader = () -> {
+            Map<String, String> en = new HashMap<>();
+            en.put("test.version", "Version " + version.get());
+            en.put("date.format", "yyyy-MM-dd");
+
+            Map<String, Language> languages = new HashMap<>();
+            languages.put("en_us", new StaticLanguage(en));
+
+            return CompletableFuture.completedFuture(new StaticLanguageCollection(languages));
+        };
+
+        DefaultLanguageTranslator translator = DefaultLanguageTranslator.create(loader).join();
+
+        assertEquals("Version 0", translator.translate("en_us", "test.version"));
+        assertEquals("yyyy-MM-dd", translator.getDateFormat("de_de").toPattern());
+
+        version.set(1);
+        translator.reload().join();
+
+        assertEquals("Version 1", translator.translate("en_us", "test.version"));
+    }
+
+    @Test
+    void translate_partialLocale_fallsBackToDefault() {
+        TranslationLoader loader = () -> {
+            Map<String, String> en = new HashMap<>();
+            en.put("test.both", "Both");
+            en.put("test.default", "Default only");
+
+            Map<String, String> de = new HashMap<>();
+            de.put("test.both", "Beide");
+            de.put("test.german", "Nur Deutsch");
+
+            Map<String, Language> languages = new HashMap<>();
+            languages.put("en_us", new StaticLanguage(en));
+            languages.put("de_de", new StaticLanguage(de));
+
+            return CompletableFuture.completedFuture(new StaticLanguageCollection(languages));
+        };
+
+        Translator translator = DefaultLanguageTranslator.create(loader).join();
+
+        assertEquals("Beide", translator.translate("de_de", "test.both"));
+        assertEquals("Default only", translator.translate("de_de", "test.default"));
+        assertEquals("Nur Deutsch", translator.translate("de_de", "test.german"));
+        assertEquals("test.german", translator.translate("en_us", "test.german"));
+        assertEquals("Default only", translator.translate("fr_fr", "test.default"));
+        assertEquals("test.missing", translator.translate("de_de", "test.missing"));
+
+        assertFalse(translator.hasTranslation("de_de", "test.default"));
+    }
+
+    @Test
+    void translate_collidingHashCodes_resolved() {
+        // "Aa" and "BB" have the same String#hashCode()
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+
+        TranslationLoader loader = () -> {
+            Map<String, String> en = new HashMap<>();
+            en.put("Aa", "First");
+            en.put("BB", "Second");
+
+            for (int i = 0; i < 1000; i++) {
+                en.put("test.key." + i, "Value " + i);
+            }
+
+            Map<String, Language> languages = new HashMap<>();
+            languages.put("en_us", new StaticLanguage(en));
+
+            return CompletableFuture.completedFuture(new StaticLanguageCollection(languages));
+        };
+
+        Translator translator = DefaultLanguageTranslator.create(loader).join();
+
+        assertEquals("First", translator.translate("en_us", "Aa"));
+        assertEquals("Second", translator.translate("en_us", "BB"));
+        assertEquals("Second", translator.translate("en_us", TranslationKey.of("BB")));
+        assertEquals("Value 512", translator.translate("en_us", "test.key.512"));
+        assertEquals("test.key.1000", translator.translate("en_us", "test.key.1000"));
+    }
+
+    @Test
+    void translate_substitutes_formatted() {
+        TranslationLoader loader = () -> {
+            Map<String, String> en = new HashMap<>();
+            en.put("test.greeting", "Hello %s, you have %s new messages");
+
+            Map<String, String> de = new HashMap<>();
+            de.put("test.greeting", "Hallo %s, du hast %s neue Nachrichten");
+
+            Map<String, Language> languages = new HashMap<>();
+            languages.put("en_us", new StaticLanguage(en));
+            languages.put("de_de", new StaticLanguage(de));
+
+            return CompletableFuture.completedFuture(new StaticLanguageCollection(languages));
+        };
+
+        Translator translator = DefaultLanguageTranslator.create(loader).join();
+
+        assertEquals("Hello Steve, you have 3 new messages", translator.translate("en_us", "test.greeting", "Steve", 3));
+        assertEquals("Hallo Alex, du hast 5 neue Nachrichten", translator.translate("de_de", "test.greeting", "Alex", 5));
+        assertEquals("Hello Alex, you have 5 new messages", translator.translate("fr_fr", "test.greeting", "Alex", 5));
+        assertEquals("test.missing", translator.translate("de_de", "test.missing", "Alex"));
+    }
+
+    @Test
+    void translate_nestedTranslationArgument_notOverwritten() {
+        TranslationLoader loader = () -> {
+            Map<String, String> en = new HashMap<>();
+            en.put("test.outer", "Outer [%s] end");
+            en.put("test.inner", "Inner %s");
+
+            Map<String, Language> languages = new HashMap<>();
+            languages.put("en_us", new StaticLanguage(en));
+
+            return CompletableFuture.completedFuture(new StaticLanguageCollection(languages));
+        };
+
+        Translator translator = DefaultLanguageTranslator.create(loader).join();
+
+        Object nested = new Object() {
+            @Override
+            public String toString() {
+                return translator.translate("en_us", "test.inner", "x");
+            }
+        };
+
+        assertEquals("Outer [Inner x] end", translator.translate("en_us", "test.outer", nested));
+    }
+
+    @Test
+    void formatDate_localePattern_formatted() {
+        TranslationLoader loader = () -> {
+            Map<String, String> en = new HashMap<>();
+            en.put("date.format", "MM/dd/yyyy HH:mm");
+
+            Map<String, String> de = new HashMap<>();
+            de.put("date.format", "dd.MM.yyyy HH:mm");
+
+            Map<String, Language> languages = new HashMap<>();
+            languages.put("en_us", new StaticLanguage(en));
+            languages.put("de_de", new StaticLanguage(de));
+            languages.put("fr_fr", new StaticLanguage(new HashMap<>()));
+
+            return CompletableFuture.completedFuture(new StaticLanguageCollection(languages));
+        };
+
+        Translator translator = DefaultLanguageTranslator.create(loader).join();
+
+        LocalDateTime dateTime = LocalDateTime.of(2024, 3, 9, 14, 30);
+
+        assertEquals("03/09/2024 14:30", translator.formatDate("en_us", dateTime));
+        assertEquals("09.03.2024 14:30", translator.formatDate("de_de", dateTime));
+        assertEquals("03/09/2024 14:30", translator.formatDate("fr_fr", dateTime));
+
+        assertSame(translator.getDateTimeFormatter("de_de"), translator.getDateTimeFormatter("de_de"));
+    }
+
+    @Test
+    void formatDate_instant_formattedInSystemZone() {
+        TranslationLoader loader = () -> {
+            Map<String, String> en = new HashMap<>();
+            en.put("date.format", "dd.MM.yyyy HH:mm");
+
+            Map<String, Language> languages = new HashMap<>();
+            languages.put("en_us", new StaticLanguage(en));
+
+            return CompletableFuture.completedFuture(new StaticLanguageCollection(languages));
+        };
+
+        Translator translator = DefaultLanguageTranslator.create(loader).join();
+
+        Instant instant = Instant.ofEpochSecond(1710000000L);
+        LocalDateTime local = LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+
+        assertEquals(translator.formatDate("en_us", local), translator.formatDate("en_us", instant));
+    }
+
+    @Test
+    void translate_translationKey_remappedAfterReload() {
+        AtomicInteger version = new AtomicInteger(0);
+
+        TranslationLoader loader = () -> {
+            Map<String, String> en = new HashMap<>();
+
+            // shift the key ids on every reload
+            for (int i = 0; i < version.get(); i++) {
+                en.put("test.filler." + i, "Filler");
+            }
+
+            en.put("test.version", "Version %s");
+
+            Map<String, Language> languages = new HashMap<>();
+            languages.put("en_us", new StaticLanguage(en));
+
+            return CompletableFuture.completedFuture(new StaticLanguageCollection(languages));
+        };
+
+        DefaultLanguageTranslator translator = DefaultLanguageTranslator.create(loader).join();
+
+        TranslationKey key = TranslationKey.of("test.version");
+        TranslationKey missing = TranslationKey.of("test.missing");
+
+        assertEquals("Version %s", translator.translate("en_us", key));
+        assertEquals("Version 0", translator.translate("de_de", key, 0));
+        assertEquals("test.missing", translator.translate("en_us", missing));
+
+        for (int i = 1; i <= 3; i++) {
+            version.set(i);
+            translator.reload().join();
+
+            assertEquals("Version " + i, translator.translate("en_us", key, i));
+            assertEquals("test.missing", translator.translate("en_us", missing));
+        }
+    }
+
+    @Test
+    void translate_translationKeySharedByTranslators_resolvedPerTranslator() {
+        TranslationLoader first = () -> {
+            Map<String, String> en = new HashMap<>();
+            en.put("test.a", "First A");
+            en.put("test.shared", "First");
+
+            Map<String, Language> languages = new HashMap<>();
+            languages.put("en_us", new StaticLanguage(en));
+
+            return CompletableFuture.completedFuture(new StaticLanguageCollection(languages));
+        };
+
+        TranslationLoader second = () -> {
+            Map<String, String> en = new HashMap<>();
+            en.put("test.shared", "Second");
+
+            Map<String, Language> languages = new HashMap<>();
+            languages.put("en_us", new StaticLanguage(en));
+
+            return CompletableFuture.completedFuture(new StaticLanguageCollection(languages));
+        };
+
+        Translator firstTranslator = DefaultLanguageTranslator.create(first).join();
+        Translator secondTranslator = DefaultLanguageTranslator.create(second).join();
+
+        TranslationKey key = TranslationKey.of("test.shared");
+        TranslationKey onlyFirst = TranslationKey.of("test.a");
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals("First", firstTranslator.translate("en_us", key));
+            assertEquals("Second", secondTranslator.translate("en_us", key));
+            assertEquals("First A", firstTranslator.translate("en_us", onlyFirst));
+            assertEquals("test.a", secondTranslator.translate("en_us", onlyFirst));
+        }
+    }
+
+    @Test
+    void reloadProgressively_fastSourceAvailableFirst() {
+        Map<String, String> bundledEn = new HashMap<>();
+        bundledEn.put("test.bundled", "Bundled");
+        bundledEn.put("test.both", "Bundled value");
+
+        Map<String, Language> bundled = new HashMap<>();
+        bundled.put("en_us", new StaticLanguage(bundledEn));
+
+        Map<String, String> remoteEn = new HashMap<>();
+        remoteEn.put("test.both", "Remote value");
+
+        Map<String, Language> remote = new HashMap<>();
+        remote.put("en_us", new StaticLanguage(remoteEn));
+
+        CompletableFuture<StaticLanguageCollection> slow = new CompletableFuture<>();
+
+        MultiTranslationLoader loader = new MultiTranslationLoader();
+        loader.addLoader(() -> CompletableFuture.completedFuture(new StaticLanguageCollection(bundled)));
+        loader.addLoader(() -> slow);
+
+        DefaultLanguageTranslator translator = new DefaultLanguageTranslator(loader);
+        CompletableFuture<Void> reload = translator.reloadProgressively();
+
+        // the bundled source is published right away
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!translator.hasTranslation("en_us", "test.bundled") && System.currentTimeMillis() < deadline) {
+            Thread.yield();
+        }
+
+        assertEquals("Bundled", translator.translate("en_us", "test.bundled"));
+        assertEquals("Bundled value", translator.translate("en_us", "test.both"));
+
+        slow.complete(new StaticLanguageCollection(remote));
+        reload.join();
+
+        // the later source still wins
+        assertEquals("Remote value", translator.translate("en_us", "test.both"));
+        assertEquals("Bundled", translator.translate("en_us", "test.bundled"));
+    }
+
+    @Test
+    void translate_metrics_lookupsRecorded() {
+        Map<String, String> en = new HashMap<>();
+        en.put("test.both", "Both");
+        en.put("test.english", "English only");
+
+        Map<String, String> ger = new HashMap<>();
+        ger.put("test.both", "Beide");
+
+        Map<String, Language> languages = new HashMap<>();
+        languages.put("en_us", new StaticLanguage(en));
+        languages.put("de_de", new StaticLanguage(ger));
+
+        InMemoryTranslationMetrics metrics = new InMemoryTranslationMetrics();
+
+        MultiTranslationLoader loader = new MultiTranslationLoader(metrics);
+        loader.addLoader(() -> CompletableFuture.completedFuture(new StaticLanguageCollection(languages)));
+
+        DefaultLanguageTranslator translator = new DefaultLanguageTranslator(loader, "en_us", metrics);
+        translator.reload().join();
+
+        translator.translate("de_de", "test.both");
+        translator.translate("de_de", "test.english");
+        translator.translate("de_de", "test.missing", "arg");
+        translator.translate("en_us", TranslationKey.of("test.english"));
+        translator.translate("fr_fr", "test.both");
+
+        assertEquals(1, metrics.getLookups("de_de", LookupResult.HIT));
+        assertEquals(1, metrics.getLookups("de_de", LookupResult.FALLBACK));
+        assertEquals(1, metrics.getLookups("de_de", LookupResult.MISS));
+        assertEquals(1, metrics.getLookups("en_us", LookupResult.HIT));
+        assertEquals(0, metrics.getLookups("en_us", LookupResult.FALLBACK));
+        assertEquals(1, metrics.getLookups("fr_fr", LookupResult.FALLBACK));
+
+        assertNotNull(metrics.getTimer("MultiTranslationLoader", LoadPhase.MERGE));
+    }
+
+    @Test
+    void translateBatch_mixedLocales_formattedOncePerTranslation() {
+        Map<String, String> en = new HashMap<>();
+        en.put("test.greeting", "Hello %s");
+
+        Map<String, String> ger = new HashMap<>();
+        ger.put("test.greeting", "Hallo %s");
+
+        Map<String, Language> languages = new HashMap<>();
+        languages.put("en_us", new StaticLanguage(en));
+        languages.put("de_de", new StaticLanguage(ger));
+
+        DefaultLanguageTranslator translator = DefaultLanguageTranslator.create(
+                () -> CompletableFuture.completedFuture(new StaticLanguageCollection(languages))).join();
+
+        String[] locales = new String[] {"en_us", "de_de", "fr_fr", "es_es"};
+        List<Integer> recipients = new ArrayList<>();
+
+        for (int i = 0; i < 100; i++) {
+            recipients.add(i);
+        }
+
+        AtomicInteger formatted = new AtomicInteger();
+        Object name = new Object() {
+            @Override
+            public String toString() {
+                formatted.incrementAndGet();
+                return "Steve";
+            }
+        };
+
+        TranslationBatch<Integer> batch = translator.translateBatch(recipients, i -> locales[i % locales.length],
+                "test.greeting", name);
+
+        assertEquals(4, batch.getGroups().size());
+        assertEquals("Hello Steve", batch.getMessage("en_us"));
+        assertEquals("Hallo Steve", batch.getMessage("de_de"));
+        assertEquals("Hello Steve", batch.getMessage("fr_fr"));
+
+        for (TranslationBatch.Group<Integer> group : batch) {
+            assertEquals(25, group.getRecipients().size());
+        }
+
+        // fr_fr and es_es fall back to the very same english translation
+        assertEquals(2, formatted.get());
+    }
+
+    @Test
+    void translateBatch_defaultImplementation_groupedByLocale() {
+        Translator translator = new Translator() {
+            @Override
+            public @NotNull String translate(String locale, String key) {
+                return locale + ":" + key;
+            }
+
+            @Override
+            public boolean hasTranslation(String locale, String key) {
+                return true;
+            }
+
+            @Override
+            public @NotNull SimpleDateFormat getDateFormat(String locale) {
+                return new SimpleDateFormat();
+            }
+
+            @Override
+            public Iterable<String> getLanguages() {
+                return Collections.emptyList();
+            }
+        };
+
+        TranslationBatch<String> batch = translator.translateBatch(Arrays.asList("a_en", "b_de", "c_en"),
+                recipient -> recipient.substring(2), TranslationKey.of("key"));
+
+        assertEquals(2, batch.getGroups().size());
+        assertEquals("en:key", batch.getMessage("en"));
+        assertEquals(Arrays.asList("a_en", "c_en"), batch.getGroups().get(0).getRecipients());
+        assertEquals("de:key", batch.getMessage("de"));
+    }
+
+    @Test
+    void translate_arenaLocale_resolvedLazily() {
+        Map<String, String> en = new HashMap<>();
+        en.put("test.both", "Both");
+        en.put("test.english", "English only");
+        en.put("test.format", "Hello %s");
+
+        Map<String, String> ja = new HashMap<>();
+        ja.put("test.both", "両方");
+        ja.put("test.format", "こんにちは %s");
+
+        Map<String, Language> languages = new HashMap<>();
+        languages.put("en_us", new StaticLanguage(en));
+        languages.put("ja_jp", new StaticLanguage(ja));
+
+        InMemoryTranslationMetrics metrics = new InMemoryTranslationMetrics();
+
+        DefaultLanguageTranslator translator = new DefaultLanguageTranslator(() -> CompletableFuture.completedFuture(
+                Utf8ArenaLanguage.compact(new StaticLanguageCollection(languages), locale -> true)), "en_us", metrics);
+
+        translator.reload().join();
+
+        assertEquals("両方", translator.translate("ja_jp", "test.both"));
+        assertEquals("English only", translator.translate("ja_jp", "test.english"));
+        assertEquals("こんにちは Steve", translator.translate("ja_jp", "test.format", "Steve"));
+        assertEquals("test.missing", translator.translate("ja_jp", "test.missing"));
+        assertEquals("Both", translator.translate("en_us", "test.both"));
+        assertTrue(translator.hasTranslation("ja_jp", "test.both"));
+        assertFalse(translator.hasTranslation("ja_jp", "test.english"));
+
+        assertEquals(2, metrics.getLookups("ja_jp", LookupResult.HIT));
+        assertEquals(1, metrics.getLookups("ja_jp", LookupResult.FALLBACK));
+        assertEquals(1, metrics.getLookups("ja_jp", LookupResult.MISS));
+    }
+
+    @Test
+    void translateTo_appendables_matchTranslate() throws IOException {
+        TranslationLoader loader = () -> {
+            Map<String, String> en = new HashMap<>();
+            en.put("test.both", "Both");
+            en.put("test.default", "Default only");
+            en.put("test.greeting", "Hello %s, you have %s new messages");
+
+            Map<String, String> de = new HashMap<>();
+            de.put("test.both", "Grüße");
+            de.put("test.greeting", "Hallo %s, du hast %s neue Nachrichten");
+
+            Map<String, Language> languages = new HashMap<>();
+            languages.put("en_us", new StaticLanguage(en));
+            languages.put("de_de", new StaticLanguage(de));
+
+            return CompletableFuture.completedFuture(new StaticLanguageCollection(languages));
+        };
+
+        Translator translator = DefaultLanguageTranslator.create(loader).join();
+
+        StringBuilder builder = new StringBuilder();
+        translator.translateTo(builder, "de_de", "test.both");
+        builder.append('|');
+        translator.translateTo(builder, "de_de", "test.default");
+        builder.append('|');
+        translator.translateTo(builder, "de_de", "test.missing");
+        builder.append('|');
+        translator.translateTo(builder, "de_de", "test.greeting", "Alex", 5);
+        builder.append('|');
+        translator.translateTo(builder, "de_de", TranslationKey.of("test.both"));
+
+        assertEquals("Grüße|Default only|test.missing|Hallo Alex, du hast 5 neue Nachrichten|Grüße", builder.toString());
+
+        CharBuffer chars = CharBuffer.allocate(64);
+        translator.translateTo(chars, "en_us", TranslationKey.of("test.greeting"), "Steve", 3);
+        chars.flip();
+
+        assertEquals(translator.translate("en_us", "test.greeting", "Steve", 3), chars.toString());
+
+        ByteBuffer bytes = ByteBuffer.allocate(64);
+        translator.translateTo(new Utf8ByteBufferAppendable(bytes), "de_de", "test.both");
+        bytes.flip();
+
+        assertEquals("Grüße", StandardCharsets.UTF_8.decode(bytes).toString());
+    }
+}
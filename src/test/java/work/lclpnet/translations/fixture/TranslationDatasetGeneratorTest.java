@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2024 LCLP.
+ *
+ * Licensed under the MIT License. For more information, consider the LICENSE file in the project's root directory.
+ */
+
+package work.lclpnet.translations.fixture;
+
+import org.junit.jupiter.api.Test;
+import work.lclpnet.translations.model.Language;
+import work.lclpnet.translations.model.LanguageCollection;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TranslationDatasetGeneratorTest {
+
+    @Test
+    void collection_sameSeed_equal() {
+        TranslationDatasetGenerator first = new TranslationDatasetGenerator().seed(7).keys(500).coverage(0.5);
+        TranslationDatasetGenerator second = new TranslationDatasetGenerator().seed(7).keys(500).coverage(0.5);
+
+        for (int locale = 0; locale < first.getLocales().size(); locale++) {
+            assertEquals(first.translations(locale), second.translations(locale));
+        }
+    }
+
+    @Test
+    void collection_defaultLocale_complete() {
+        TranslationDatasetGenerator generator = new TranslationDatasetGenerator().keys(500).coverage(0);
+        LanguageCollection languages = generator.collection();
+
+        Language defaults = languages.get(TranslationDatasetGenerator.DEFAULT_LOCALE);
+        assertNotNull(defaults);
+
+        for (int i = 0; i < generator.getKeyCount(); i++) {
+            assertTrue(defaults.has(generator.key(i)));
+        }
+
+        assertFalse(languages.get("de_de").keys().iterator().hasNext());
+    }
+
+    @Test
+    void translations_coverage_approximated() {
+        TranslationDatasetGenerator generator = new TranslationDatasetGenerator().keys(10000).coverage(0.3);
+
+        Map<String, String> translations = generator.translations(1);
+
+        assertTrue(Math.abs(translations.size() - 3000) < 200);
+    }
+
+    @Test
+    void partition_skewed_firstNamespaceLargest() {
+        TranslationDatasetGenerator generator = new TranslationDatasetGenerator().keys(10000).namespaces(10).skew(1.0);
+
+        int[][] partition = generator.partition();
+
+        assertEquals(10000, Arrays.stream(partition).mapToInt(keys -> keys.length).sum());
+        assertTrue(partition[0].length > partition[9].length * 5);
+
+        for (int ns = 0; ns < partition.length; ns++) {
+            for (int index : partition[ns]) {
+                assertEquals(ns, generator.namespace(index));
+            }
+        }
+    }
+
+    @Test
+    void locales_beyondKnown_generated() {
+        TranslationDatasetGenerator generator = new TranslationDatasetGenerator().locales(50);
+
+        assertEquals(50, generator.getLocales().stream().distinct().count());
+        assertEquals(TranslationDatasetGenerator.DEFAULT_LOCALE, generator.getLocales().get(0));
+    }
+}
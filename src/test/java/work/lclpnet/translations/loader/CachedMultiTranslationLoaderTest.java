@@ -7,17 +7,17 @@
 package work.lclpnet.translations.loader;
 
 import org.junit.jupiter.api.Test;
+import work.lclpnet.translations.metrics.InMemoryTranslationMetrics;
+import work.lclpnet.translations.metrics.LoadPhase;
 import work.lclpnet.translations.model.*;
 
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 class CachedMultiTranslationLoaderTest {
@@ -146,6 +146,98 @@ class CachedMultiTranslationLoaderTest {
         verify(second, times(2)).load();
     }
 
+    @Test
+    void load_concurrent_loadedOnce() {
+        StaticLanguageCollection collection = new StaticLanguageCollection(new HashMap<>());
+        CompletableFuture<LanguageCollection> pending = new CompletableFuture<>();
+        AtomicInteger calls = new AtomicInteger(0);
+
+        TranslationLoader slow = () -> {
+            calls.incrementAndGet();
+            return pending;
+        };
+
+        CachedMultiTranslationLoader cachedLoader = new CachedMultiTranslationLoader();
+        cachedLoader.add(slow);
+
+        CompletableFuture<? extends LanguageCollection> first = cachedLoader.load();
+        CompletableFuture<? extends LanguageCollection> second = cachedLoader.load();
+
+        pending.complete(collection);
+
+        assertLanguageCollectionsEqual(collection, first.join());
+        assertLanguageCollectionsEqual(collection, second.join());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void refresh_onlyRefreshedLoaderLoadedAgain() {
+        Map<String, Language> m1 = new HashMap<>();
+        m1.put("en_us", new StaticLanguage(new HashMap<>()));
+
+        Map<String, Language> m2 = new HashMap<>();
+        m2.put("de_de", new StaticLanguage(new HashMap<>()));
+
+        TranslationLoader first = spy(new TestLoader(new StaticLanguageCollection(m1)));
+        TranslationLoader second = spy(new TestLoader(new StaticLanguageCollection(m2)));
+
+        CachedMultiTranslationLoader cachedLoader = new CachedMultiTranslationLoader();
+        cachedLoader.add(first);
+        cachedLoader.add(second);
+
+        cachedLoader.load().join();
+        cachedLoader.refresh(second).join();
+
+        verify(first, times(1)).load();
+        verify(second, times(2)).load();
+
+        cachedLoader.invalidate(first);
+        cachedLoader.load().join();
+
+        verify(first, times(2)).load();
+        verify(second, times(2)).load();
+    }
+
+    @Test
+    void load_failed_notCached() {
+        AtomicInteger calls = new AtomicInteger(0);
+
+        TranslationLoader failing = () -> {
+            CompletableFuture<LanguageCollection> future = new CompletableFuture<>();
+
+            if (calls.incrementAndGet() == 1) {
+                future.completeExceptionally(new IllegalStateException("test"));
+            } else {
+                future.complete(new StaticLanguageCollection(new HashMap<>()));
+            }
+
+            return future;
+        };
+
+        CachedMultiTranslationLoader cachedLoader = new CachedMultiTranslationLoader();
+        cachedLoader.add(failing);
+
+        assertThrows(CompletionException.class, () -> cachedLoader.load().join());
+        assertNotNull(cachedLoader.load().join());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void load_sameLoaderClass_timedPerName() {
+        InMemoryTranslationMetrics metrics = new InMemoryTranslationMetrics();
+        StaticLanguageCollection empty = new StaticLanguageCollection(new HashMap<>());
+
+        CachedMultiTranslationLoader cachedLoader = new CachedMultiTranslationLoader(metrics, "cached");
+        cachedLoader.add("first", new TestLoader(empty));
+        cachedLoader.add("second", new TestLoader(empty));
+        cachedLoader.add(new TestLoader(empty));
+
+        cachedLoader.load().join();
+
+        assertEquals(new HashSet<>(Arrays.asList("first", "second", "cached#2")), metrics.getSources());
+        assertEquals(1, Objects.requireNonNull(metrics.getTimer("first", LoadPhase.LOAD)).getCount());
+    }
+
     static void assertLanguageCollectionsEqual(LanguageCollection expected, LanguageCollection actual) {
         Set<String> expectedKeys = new HashSet<>();
         expected.keys().forEach(expectedKeys::add);
@@ -16,9 +16,12 @@ import work.lclpnet.translations.util.Pair;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 
 class DirectTranslationLoaderTest {
 
@@ -129,6 +132,37 @@ class DirectTranslationLoaderTest {
                 .collect(Collectors.toSet()));
     }
 
+    @Test
+    void load_executor_used() {
+        Map<String, Language> languages = new HashMap<>();
+        languages.put("en_us", new StaticLanguage(new HashMap<>()));
+
+        CompletableFuture<LanguageCollection> slow = new CompletableFuture<>();
+
+        MultiTranslationLoader loader = new MultiTranslationLoader();
+        loader.addLoader(staticLoader(languages));
+        loader.addLoader(() -> slow);
+
+        AtomicInteger executions = new AtomicInteger(0);
+        Executor executor = command -> {
+            executions.incrementAndGet();
+            command.run();
+        };
+
+        CompletableFuture<? extends LanguageCollection> future = loader.load(executor);
+
+        // the merge waits for the slow source, without blocking the executor
+        assertFalse(future.isDone());
+
+        slow.complete(new StaticLanguageCollection(new HashMap<>()));
+
+        assertEquals(setOf("en_us"), future.join().stream()
+                .map(Pair::getKey)
+                .collect(Collectors.toSet()));
+
+        assertEquals(2, executions.get());
+    }
+
     private static TranslationLoader staticLoader(Map<String, ? extends Language> languages) {
         return () -> CompletableFuture.completedFuture(new StaticLanguageCollection(languages));
     }
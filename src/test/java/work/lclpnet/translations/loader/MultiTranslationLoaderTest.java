@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2024 LCLP.
+ *
+ * Licensed under the MIT License. For more information, consider the LICENSE file in the project's root directory.
+ */
+
+package work.lclpnet.translations.loader;
+
+import org.junit.jupiter.api.Test;
+import work.lclpnet.translations.metrics.InMemoryTranslationMetrics;
+import work.lclpnet.translations.metrics.LoadPhase;
+import work.lclpnet.translations.model.Language;
+import work.lclpnet.translations.model.LanguageCollection;
+import work.lclpnet.translations.model.StaticLanguage;
+import work.lclpnet.translations.model.StaticLanguageCollection;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MultiTranslationLoaderTest {
+
+    @Test
+    void load_namedLoaders_timedPerName() {
+        InMemoryTranslationMetrics metrics = new InMemoryTranslationMetrics();
+
+        MultiTranslationLoader loader = new MultiTranslationLoader(metrics, "translations");
+        loader.addLoader("bundled", staticLoader("Bundled"));
+        loader.addLoader("server", staticLoader("Server"));
+
+        LanguageCollection result = loader.load().join();
+
+        Language en = result.get("en_us");
+        assertNotNull(en);
+        assertEquals("Server", en.get("hello"));
+
+        assertNotNull(metrics.getTimer("bundled", LoadPhase.LOAD));
+        assertNotNull(metrics.getTimer("server", LoadPhase.LOAD));
+        assertNotNull(metrics.getTimer("translations", LoadPhase.MERGE));
+    }
+
+    @Test
+    void load_unnamedLoaders_timedSeparately() {
+        InMemoryTranslationMetrics metrics = new InMemoryTranslationMetrics();
+
+        MultiTranslationLoader loader = new MultiTranslationLoader(metrics, "translations");
+        loader.addLoader(staticLoader("First"));
+        loader.addLoader(staticLoader("Second"));
+
+        loader.load().join();
+
+        assertEquals(new HashSet<>(Arrays.asList("translations#0", "translations#1", "translations")),
+                metrics.getSources());
+    }
+
+    @Test
+    void removeLoader_named_notLoaded() {
+        TranslationLoader removed = staticLoader("Removed");
+
+        MultiTranslationLoader loader = new MultiTranslationLoader();
+        loader.addLoader("kept", staticLoader("Kept"));
+        loader.addLoader("removed", removed);
+        loader.removeLoader(removed);
+
+        Language en = loader.load().join().get("en_us");
+        assertNotNull(en);
+        assertEquals("Kept", en.get("hello"));
+    }
+
+    private static TranslationLoader staticLoader(String value) {
+        Map<String, String> en = new HashMap<>();
+        en.put("hello", value);
+
+        Map<String, Language> languages = new HashMap<>();
+        languages.put("en_us", new StaticLanguage(en));
+
+        return () -> CompletableFuture.completedFuture(new StaticLanguageCollection(languages));
+    }
+}
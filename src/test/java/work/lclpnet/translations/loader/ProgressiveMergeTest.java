@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2024 LCLP.
+ *
+ * Licensed under the MIT License. For more information, consider the LICENSE file in the project's root directory.
+ */
+
+package work.lclpnet.translations.loader;
+
+import org.junit.jupiter.api.Test;
+import work.lclpnet.translations.metrics.InMemoryTranslationMetrics;
+import work.lclpnet.translations.metrics.LoadPhase;
+import work.lclpnet.translations.model.Language;
+import work.lclpnet.translations.model.LanguageCollection;
+import work.lclpnet.translations.model.StaticLanguage;
+import work.lclpnet.translations.model.StaticLanguageCollection;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProgressiveMergeTest {
+
+    @Test
+    void merge_outOfOrder_laterSourceWins() {
+        CompletableFuture<LanguageCollection> first = new CompletableFuture<>(), second = new CompletableFuture<>();
+        List<String> published = Collections.synchronizedList(new ArrayList<>());
+
+        CompletableFuture<LanguageCollection> result = ProgressiveMerge.merge(Arrays.asList(first, second),
+                collection -> published.add(translation(collection)));
+
+        second.complete(collection("Second"));
+        first.complete(collection("First"));
+
+        assertEquals("Second", translation(result.join()));
+        assertEquals(Arrays.asList("Second", "Second"), published);
+    }
+
+    @Test
+    void merge_slowListener_otherSourcesNotBlocked() throws InterruptedException {
+        CompletableFuture<LanguageCollection> first = new CompletableFuture<>(), second = new CompletableFuture<>();
+        CountDownLatch entered = new CountDownLatch(1), release = new CountDownLatch(1);
+        List<String> published = Collections.synchronizedList(new ArrayList<>());
+
+        CompletableFuture<LanguageCollection> result = ProgressiveMerge.merge(Arrays.asList(first, second), collection -> {
+            published.add(translation(collection));
+            entered.countDown();
+
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        Thread publisher = new Thread(() -> first.complete(collection("First")));
+        publisher.start();
+
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        // returns while the first publication is still in progress
+        second.complete(collection("Second"));
+        assertFalse(result.isDone());
+
+        release.countDown();
+
+        assertEquals("Second", translation(result.join()));
+        assertEquals(Arrays.asList("First", "Second"), published);
+
+        publisher.join();
+    }
+
+    @Test
+    void merge_listenerThrows_completedExceptionally() {
+        CompletableFuture<LanguageCollection> first = new CompletableFuture<>(), second = new CompletableFuture<>();
+
+        CompletableFuture<LanguageCollection> result = ProgressiveMerge.merge(Arrays.asList(first, second), collection -> {
+            throw new IllegalStateException("listener failed");
+        });
+
+        first.complete(collection("First"));
+        second.complete(collection("Second"));
+
+        CompletionException e = assertThrows(CompletionException.class, result::join);
+        assertTrue(e.getCause() instanceof IllegalStateException);
+    }
+
+    @Test
+    void merge_equalTranslations_deduplicationReported() {
+        CompletableFuture<LanguageCollection> first = new CompletableFuture<>(), second = new CompletableFuture<>();
+        InMemoryTranslationMetrics metrics = new InMemoryTranslationMetrics();
+
+        CompletableFuture<LanguageCollection> result = ProgressiveMerge.merge(Arrays.asList(first, second),
+                collection -> {}, metrics, "test");
+
+        // equal, but distinct instances
+        first.complete(collection(new String("Same")));
+        second.complete(collection(new String("Same")));
+
+        assertEquals("Same", translation(result.join()));
+        assertTrue(metrics.getDeduplicatedStrings() > 0);
+        assertTrue(metrics.getSavedBytes() > 0);
+        assertNotNull(metrics.getTimer("test", LoadPhase.MERGE));
+    }
+
+    private static LanguageCollection collection(String value) {
+        Map<String, String> en = new HashMap<>();
+        en.put("hello", value);
+
+        Map<String, Language> languages = new HashMap<>();
+        languages.put("en_us", new StaticLanguage(en));
+
+        return new StaticLanguageCollection(languages);
+    }
+
+    private static String translation(LanguageCollection collection) {
+        Language language = collection.get("en_us");
+
+        return language != null ? language.get("hello") : null;
+    }
+}
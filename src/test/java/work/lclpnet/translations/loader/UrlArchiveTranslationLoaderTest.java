@@ -8,9 +8,13 @@ package work.lclpnet.translations.loader;
 
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import work.lclpnet.translations.fixture.TranslationDatasetGenerator;
+import work.lclpnet.translations.model.Language;
 import work.lclpnet.translations.model.LanguageCollection;
+import work.lclpnet.translations.util.JsonTranslationParser;
 
 import java.io.File;
 import java.io.IOException;
@@ -24,6 +28,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
@@ -87,16 +92,93 @@ class UrlArchiveTranslationLoaderTest {
         testUrls(urls, "jarlang/");
     }
 
+    @Test
+    void loadFromFileSystemParallel() {
+        URL[] urls = UrlArchiveTranslationLoader.getResourceLocations(this);
+
+        testUrls(urls, "lang/", true);
+    }
+
+    @Test
+    void loadFromJarParallel() {
+        URL url = getClass().getClassLoader().getResource("test.jar");
+        assertNotNull(url);
+
+        testUrls(new URL[] { url }, "jarlang/", true);
+    }
+
+    @Test
+    void loadFromJarUrlParallel() throws MalformedURLException {
+        URL url = getClass().getClassLoader().getResource("test.jar");
+        assertNotNull(url);
+
+        URL jarUrl = new URL(String.format("jar:%s!/", url));
+
+        testUrls(new URL[] { jarUrl }, "jarlang/", true);
+    }
+
+    @Test
+    void loadGeneratedJars(@TempDir Path tmp) throws IOException {
+        TranslationDatasetGenerator generator = dataset();
+
+        testGenerated(generator, generator.writeJars(tmp, "lang/", 20), false);
+        testGenerated(generator, generator.writeJars(tmp, "lang/", 20), true);
+    }
+
+    @Test
+    void loadGeneratedDirectories(@TempDir Path tmp) throws IOException {
+        TranslationDatasetGenerator generator = dataset();
+
+        testGenerated(generator, generator.writeDirectories(tmp, "lang/", 20), false);
+        testGenerated(generator, generator.writeDirectories(tmp, "lang/", 20), true);
+    }
+
+    private static TranslationDatasetGenerator dataset() {
+        return new TranslationDatasetGenerator()
+                .seed(42)
+                .keys(5000)
+                .locales(12)
+                .namespaces(40)
+                .skew(1.0)
+                .coverage(0.7);
+    }
+
+    private static void testGenerated(TranslationDatasetGenerator generator, URL[] urls, boolean parallel) {
+        UrlArchiveTranslationLoader loader = new UrlArchiveTranslationLoader(urls, Collections.singletonList("lang/"),
+                ForkJoinPool.commonPool(), logger, file -> file.endsWith(".json"),
+                () -> new JsonTranslationParser(logger), parallel);
+
+        LanguageCollection languages = loader.load().join();
+        LanguageCollection expected = generator.collection();
+
+        for (String locale : generator.getLocales()) {
+            Language language = languages.get(locale);
+            assertNotNull(language);
+
+            Set<String> keys = StreamSupport.stream(language.keys().spliterator(), false).collect(Collectors.toSet());
+            Set<String> expectedKeys = StreamSupport.stream(expected.get(locale).keys().spliterator(), false).collect(Collectors.toSet());
+
+            assertEquals(expectedKeys, keys);
+            assertTrue(keys.stream().allMatch(key -> expected.get(locale).get(key).equals(language.get(key))));
+        }
+    }
+
     private static void test(Object ref, String dir) {
         URL[] urls = UrlArchiveTranslationLoader.getResourceLocations(ref);
 
         testUrls(urls, dir);
     }
 
-    private static void testUrls(URL[] urls, String dir ) {
+    private static void testUrls(URL[] urls, String dir) {
+        testUrls(urls, dir, false);
+    }
+
+    private static void testUrls(URL[] urls, String dir, boolean parallel) {
         List<String> resourceDirectories = Collections.singletonList(dir);
 
-        UrlArchiveTranslationLoader loader = UrlArchiveTranslationLoader.ofJson(urls, resourceDirectories, logger);
+        UrlArchiveTranslationLoader loader = new UrlArchiveTranslationLoader(urls, resourceDirectories,
+                ForkJoinPool.commonPool(), logger, file -> file.endsWith(".json"),
+                () -> new JsonTranslationParser(logger), parallel);
 
         LanguageCollection languages = loader.load().join();
         Set<String> keys = StreamSupport.stream(languages.keys().spliterator(), false).collect(Collectors.toSet());
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2024 LCLP.
+ *
+ * Licensed under the MIT License. For more information, consider the LICENSE file in the project's root directory.
+ */
+
+package work.lclpnet.translations.loader;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import work.lclpnet.translations.model.Language;
+import work.lclpnet.translations.model.LanguageCollection;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WatchingDirectoryTranslationLoaderTest {
+
+    private static final Logger logger = LoggerFactory.getLogger("test");
+
+    @TempDir
+    Path root;
+
+    @Test
+    void load_changedFile_patched() throws IOException, InterruptedException {
+        Path lang = Files.createDirectories(root.resolve("lang"));
+        write(lang.resolve("en_us.json"), "{\"hello\": \"Hello\"}");
+        write(lang.resolve("de_de.json"), "{\"hello\": \"Hallo\"}");
+
+        try (WatchingDirectoryTranslationLoader loader = WatchingDirectoryTranslationLoader.ofJson(root,
+                Collections.singletonList("lang/"), logger)) {
+
+            LanguageCollection initial = loader.load().join();
+            Language en = initial.get("en_us");
+
+            assertNotNull(en);
+            assertEquals("Hello", en.get("hello"));
+            assertEquals("Hallo", translation(initial, "de_de", "hello"));
+
+            write(lang.resolve("de_de.json"), "{\"hello\": \"Servus\"}");
+
+            LanguageCollection updated = awaitUpdate(loader, collection -> "Servus".equals(translation(collection, "de_de", "hello")));
+
+            // unchanged locales are reused
+            assertSame(en, updated.get("en_us"));
+
+            Files.delete(lang.resolve("de_de.json"));
+
+            updated = awaitUpdate(loader, collection -> collection.get("de_de") == null);
+
+            assertSame(en, updated.get("en_us"));
+        }
+    }
+
+    @Test
+    void load_createdDirectory_added() throws IOException, InterruptedException {
+        Files.createDirectories(root.resolve("lang"));
+
+        try (WatchingDirectoryTranslationLoader loader = WatchingDirectoryTranslationLoader.ofJson(root,
+                Collections.singletonList("lang/"), logger)) {
+
+            assertNull(loader.load().join().get("en_us"));
+
+            Path nested = Files.createDirectories(root.resolve("lang").resolve("nested"));
+            write(nested.resolve("en_us.json"), "{\"hello\": \"Hello\"}");
+
+            awaitUpdate(loader, collection -> "Hello".equals(translation(collection, "en_us", "hello")));
+        }
+    }
+
+    @Test
+    void rescan_changedFile_appliedImmediately() throws IOException {
+        Path lang = Files.createDirectories(root.resolve("lang"));
+        write(lang.resolve("en_us.json"), "{\"hello\": \"Hello\"}");
+
+        try (WatchingDirectoryTranslationLoader loader = WatchingDirectoryTranslationLoader.ofJson(root,
+                Collections.singletonList("lang/"), logger)) {
+
+            assertEquals("Hello", translation(loader.rescan().join(), "en_us", "hello"));
+
+            write(lang.resolve("en_us.json"), "{\"hello\": \"Howdy\"}");
+            write(lang.resolve("de_de.json"), "{\"hello\": \"Hallo\"}");
+
+            LanguageCollection updated = loader.rescan().join();
+
+            assertEquals("Howdy", translation(updated, "en_us", "hello"));
+            assertEquals("Hallo", translation(updated, "de_de", "hello"));
+        }
+    }
+
+    @Test
+    void startWatching_registrationFailed_throwsAndRetriesLater() throws IOException {
+        Path missing = root.resolve("missing");
+
+        try (WatchingDirectoryTranslationLoader loader = WatchingDirectoryTranslationLoader.ofJson(missing,
+                Collections.singletonList("lang/"), logger)) {
+
+            assertThrows(IllegalStateException.class, () -> loader.startWatching(() -> {}));
+
+            Path lang = Files.createDirectories(missing.resolve("lang"));
+            write(lang.resolve("en_us.json"), "{\"hello\": \"Hello\"}");
+
+            assertEquals("Hello", translation(loader.rescan().join(), "en_us", "hello"));
+            assertDoesNotThrow(() -> loader.startWatching(() -> {}));
+        }
+    }
+
+    private static LanguageCollection awaitUpdate(TranslationLoader loader, Predicate<LanguageCollection> condition) throws InterruptedException {
+        // polling watch services, e.g. on macOS, report changes only every few seconds
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+
+        do {
+            LanguageCollection collection = loader.load().join();
+
+            if (condition.test(collection)) {
+                return collection;
+            }
+
+            Thread.sleep(50);
+        } while (System.nanoTime() < deadline);
+
+        return fail("Translations were not updated");
+    }
+
+    private static String translation(LanguageCollection collection, String locale, String key) {
+        Language language = collection.get(locale);
+
+        return language != null ? language.get(key) : null;
+    }
+
+    private static void write(Path path, String content) throws IOException {
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2024 LCLP.
+ *
+ * Licensed under the MIT License. For more information, consider the LICENSE file in the project's root directory.
+ */
+
+package work.lclpnet.translations.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryTranslationMetricsTest {
+
+    @Test
+    void recordLookup_concurrent_allCounted() {
+        InMemoryTranslationMetrics metrics = new InMemoryTranslationMetrics();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+        for (int t = 0; t < 8; t++) {
+            futures.add(CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    metrics.recordLookup(i % 2 == 0 ? "en_us" : "de_de", LookupResult.values()[i % 3]);
+                }
+            }));
+        }
+
+        futures.forEach(CompletableFuture::join);
+
+        long total = 0;
+
+        for (String locale : metrics.getLocales()) {
+            for (LookupResult result : LookupResult.values()) {
+                total += metrics.getLookups(locale, result);
+            }
+        }
+
+        assertEquals(80000, total);
+        assertEquals(2, metrics.getLocales().size());
+        assertEquals(0, metrics.getLookups("fr_fr", LookupResult.HIT));
+    }
+
+    @Test
+    void recordTiming_multiple_accumulated() {
+        InMemoryTranslationMetrics metrics = new InMemoryTranslationMetrics();
+
+        metrics.recordTiming("source", LoadPhase.PARSE, 10);
+        metrics.recordTiming("source", LoadPhase.PARSE, 30);
+        metrics.recordTiming("source", LoadPhase.MERGE, 5);
+
+        InMemoryTranslationMetrics.Timer parse = metrics.getTimer("source", LoadPhase.PARSE);
+        assertNotNull(parse);
+        assertEquals(2, parse.getCount());
+        assertEquals(40, parse.getTotalNanos());
+        assertEquals(30, parse.getMaxNanos());
+
+        assertNull(metrics.getTimer("source", LoadPhase.LOAD));
+        assertNull(metrics.getTimer("other", LoadPhase.PARSE));
+    }
+
+    @Test
+    void reset_recorded_cleared() {
+        InMemoryTranslationMetrics metrics = new InMemoryTranslationMetrics();
+
+        metrics.recordLookup("en_us", LookupResult.HIT);
+        metrics.recordTiming("source", LoadPhase.LOAD, 1);
+        metrics.recordDeduplication("source", 1, 32);
+        metrics.reset();
+
+        assertTrue(metrics.getLocales().isEmpty());
+        assertTrue(metrics.getSources().isEmpty());
+        assertEquals(0, metrics.getDeduplicatedStrings());
+        assertEquals(0, metrics.getSavedBytes());
+    }
+
+    @Test
+    void recordDeduplication_multipleSources_summed() {
+        InMemoryTranslationMetrics metrics = new InMemoryTranslationMetrics();
+
+        metrics.recordDeduplication("first", 2, 64);
+        metrics.recordDeduplication("second", 1, 40);
+
+        assertEquals(3, metrics.getDeduplicatedStrings());
+        assertEquals(104, metrics.getSavedBytes());
+    }
+
+    @Test
+    void recordLookup_manyLocales_bounded() {
+        InMemoryTranslationMetrics metrics = new InMemoryTranslationMetrics(4);
+
+        metrics.recordLookup("en_us", LookupResult.HIT);
+
+        for (int i = 0; i < 1000; i++) {
+            metrics.recordLookup("random_" + i, LookupResult.MISS);
+        }
+
+        metrics.recordLookup("en_us", LookupResult.HIT);
+
+        assertEquals(4, metrics.getLocales().size());
+        assertTrue(metrics.getLocales().contains(InMemoryTranslationMetrics.OTHER_LOCALES));
+        assertEquals(2, metrics.getLookups("en_us", LookupResult.HIT));
+        assertEquals(1000, metrics.getLookups(LookupResult.MISS));
+        assertEquals(998, metrics.getLookups(InMemoryTranslationMetrics.OTHER_LOCALES, LookupResult.MISS));
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2024 LCLP.
+ *
+ * Licensed under the MIT License. For more information, consider the LICENSE file in the project's root directory.
+ */
+
+package work.lclpnet.translations.metrics;
+
+import org.junit.jupiter.api.Test;
+import work.lclpnet.translations.DefaultLanguageTranslator;
+import work.lclpnet.translations.model.StaticLanguageCollection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MissingKeyTrackerTest {
+
+    @Test
+    void getTopMissing_frequentKeys_reported() {
+        MissingKeyTracker tracker = new MissingKeyTracker(1024, 4);
+
+        for (int i = 0; i < 1000; i++) {
+            tracker.recordMiss("en_us", "frequent.first");
+
+            if (i % 2 == 0) {
+                tracker.recordMiss("de_de", "frequent.second");
+            }
+
+            // many rare keys, which must not displace the frequent ones
+            tracker.recordMiss("en_us", "rare." + i);
+        }
+
+        List<MissingKeyTracker.MissingKey> top = tracker.getTopMissing();
+
+        assertTrue(top.size() <= 4);
+        assertEquals("frequent.first", top.get(0).getKey());
+        assertEquals("en_us", top.get(0).getLocale());
+        assertEquals("frequent.second", top.get(1).getKey());
+        assertEquals("de_de", top.get(1).getLocale());
+        assertTrue(top.get(0).getCount() >= 1000);
+        assertEquals(2500, tracker.getTotalMisses());
+    }
+
+    @Test
+    void estimate_neverUnderestimates() {
+        MissingKeyTracker tracker = new MissingKeyTracker(64, 8);
+
+        for (int i = 0; i < 500; i++) {
+            for (int j = 0; j <= i % 5; j++) {
+                tracker.recordMiss("en_us", "key." + i);
+            }
+        }
+
+        for (int i = 0; i < 500; i++) {
+            assertTrue(tracker.estimate("en_us", "key." + i) >= i % 5 + 1);
+        }
+    }
+
+    @Test
+    void recordMiss_concurrent_counted() {
+        MissingKeyTracker tracker = new MissingKeyTracker(1 << 14, 32);
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+        for (int t = 0; t < 8; t++) {
+            futures.add(CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    tracker.recordMiss("en_us", "concurrent");
+                }
+            }));
+        }
+
+        futures.forEach(CompletableFuture::join);
+
+        assertEquals(80000, tracker.estimate("en_us", "concurrent"));
+        assertEquals(1, tracker.getTopMissing().size());
+    }
+
+    @Test
+    void recordMiss_sampled_estimatedAndReported() {
+        MissingKeyTracker tracker = new MissingKeyTracker(1 << 14, 32, 8);
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+        for (int t = 0; t < 8; t++) {
+            futures.add(CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    tracker.recordMiss("en_us", "sampled");
+                }
+            }));
+        }
+
+        futures.forEach(CompletableFuture::join);
+
+        // one in eight misses is recorded with a weight of eight
+        long estimate = tracker.estimate("en_us", "sampled");
+        assertEquals(0, estimate % 8);
+        assertTrue(estimate > 72000 && estimate < 88000, "estimate " + estimate);
+
+        assertEquals(80000, tracker.getTotalMisses());
+        assertEquals("sampled", tracker.getTopMissing().get(0).getKey());
+    }
+
+    @Test
+    void clear_recorded_discarded() {
+        MissingKeyTracker tracker = new MissingKeyTracker();
+        tracker.recordMiss("en_us", "missing");
+        tracker.clear();
+
+        assertEquals(0, tracker.estimate("en_us", "missing"));
+        assertTrue(tracker.getTopMissing().isEmpty());
+    }
+
+    @Test
+    void translate_composed_missesTracked() {
+        MissingKeyTracker tracker = new MissingKeyTracker(1 << 14, 32);
+        InMemoryTranslationMetrics metrics = new InMemoryTranslationMetrics();
+
+        DefaultLanguageTranslator translator = new DefaultLanguageTranslator(
+                () -> CompletableFuture.completedFuture(new StaticLanguageCollection(Collections.emptyMap())),
+                "en_us", TranslationMetrics.compose(metrics, tracker));
+
+        translator.reload().join();
+
+        translator.translate("en_us", "missing.key");
+        translator.translate("en_us", "missing.key", "arg");
+
+        assertEquals(2, tracker.estimate("en_us", "missing.key"));
+        assertEquals(2, metrics.getLookups("en_us", LookupResult.MISS));
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2024 LCLP.
+ *
+ * Licensed under the MIT License. For more information, consider the LICENSE file in the project's root directory.
+ */
+
+package work.lclpnet.translations.model;
+
+import org.junit.jupiter.api.Test;
+import work.lclpnet.translations.util.Pair;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarLanguageCollectionTest {
+
+    @Test
+    void of_copiesTranslations() {
+        Map<String, String> en = new HashMap<>();
+        en.put("hello", "Hello");
+        en.put("world", "World");
+
+        Map<String, String> de = new HashMap<>();
+        de.put("hello", "Hallo");
+        de.put("only.german", "Nur Deutsch");
+
+        Map<String, Language> languages = new HashMap<>();
+        languages.put("en_us", new StaticLanguage(en));
+        languages.put("de_de", new StaticLanguage(de));
+
+        ColumnarLanguageCollection collection = ColumnarLanguageCollection.of(new StaticLanguageCollection(languages));
+
+        assertEquals(3, collection.getKeyCount());
+
+        ColumnarLanguage german = collection.get("de_de");
+        assertNotNull(german);
+
+        assertEquals("Hallo", german.get("hello"));
+        assertEquals("Nur Deutsch", german.get("only.german"));
+        assertNull(german.get("world"));
+        assertFalse(german.has("world"));
+        assertEquals("Hallo", german.get(collection.getKeyId("hello")));
+        assertEquals(-1, collection.getKeyId("missing"));
+
+        Set<String> keys = new HashSet<>();
+        german.keys().forEach(keys::add);
+
+        assertEquals(de.keySet(), keys);
+        assertEquals(2, german.stream().count());
+    }
+
+    @Test
+    void of_sharedKeyTable_keysDecodedOnce() {
+        String[] keys = { "hello", "world", "unused" };
+        AtomicInteger decoded = new AtomicInteger();
+
+        Map<String, Language> languages = new HashMap<>();
+        languages.put("en_us", new SharedKeysLanguage(keys, new String[] { "Hello", "World", null }, decoded));
+        languages.put("de_de", new SharedKeysLanguage(keys, new String[] { "Hallo", null, null }, decoded));
+
+        ColumnarLanguageCollection collection = ColumnarLanguageCollection.of(new StaticLanguageCollection(languages));
+
+        // keys without a translation in any language are not decoded
+        assertEquals(2, decoded.get());
+        assertEquals(2, collection.getKeyCount());
+        assertEquals(-1, collection.getKeyId("unused"));
+
+        ColumnarLanguage german = collection.get("de_de");
+        assertNotNull(german);
+        assertEquals("Hallo", german.get(collection.getKeyId("hello")));
+        assertNull(german.get(collection.getKeyId("world")));
+
+        ColumnarLanguage english = collection.get("en_us");
+        assertNotNull(english);
+        assertEquals("World", english.get(collection.getKeyId("world")));
+    }
+
+    /** A language whose keys are shared with every other instance, like the languages of a pack. */
+    private static class SharedKeysLanguage implements IndexedLanguage {
+
+        private final String[] keys, values;
+        private final AtomicInteger decoded;
+
+        SharedKeysLanguage(String[] keys, String[] values, AtomicInteger decoded) {
+            this.keys = keys;
+            this.values = values;
+            this.decoded = decoded;
+        }
+
+        @Override
+        public int size() {
+            return keys.length;
+        }
+
+        @Override
+        public String getKey(int index) {
+            decoded.incrementAndGet();
+            return keys[index];
+        }
+
+        @Override
+        public boolean has(int index) {
+            return values[index] != null;
+        }
+
+        @Override
+        public String get(int index) {
+            return values[index];
+        }
+
+        @Override
+        public Object getKeyTable() {
+            return keys;
+        }
+
+        @Override
+        public String get(String key) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i].equals(key)) return values[i];
+            }
+
+            return null;
+        }
+
+        @Override
+        public boolean has(String key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public Iterable<String> keys() {
+            List<String> present = new ArrayList<>();
+
+            for (int i = 0; i < keys.length; i++) {
+                if (values[i] != null) present.add(keys[i]);
+            }
+
+            return present;
+        }
+
+        @Override
+        public Stream<Pair<String, String>> stream() {
+            return IntStream.range(0, keys.length)
+                    .filter(this::has)
+                    .mapToObj(i -> Pair.of(keys[i], values[i]));
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2024 LCLP.
+ *
+ * Licensed under the MIT License. For more information, consider the LICENSE file in the project's root directory.
+ */
+
+package work.lclpnet.translations.model;
+
+import org.junit.jupiter.api.Test;
+import work.lclpnet.translations.util.Pair;
+
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FrozenLanguageTest {
+
+    @Test
+    void get_largeLanguage_allFound() {
+        Map<String, String> mapping = new HashMap<>();
+
+        for (int i = 0; i < 60000; i++) {
+            mapping.put("namespace.group" + (i % 40) + ".key" + i, "value " + i);
+        }
+
+        FrozenLanguage language = FrozenLanguage.of(new StaticLanguage(mapping));
+
+        assertTrue(language.isPerfectlyHashed());
+        assertEquals(mapping.size(), language.size());
+        mapping.forEach((key, value) -> assertEquals(value, language.get(key)));
+
+        for (int i = 0; i < 1000; i++) {
+            assertFalse(language.has("namespace.missing.key" + i));
+        }
+    }
+
+    @Test
+    void get_collidingHashCodes_overflowUsed() {
+        // "Aa" and "BB" share the same String.hashCode()
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+
+        Map<String, String> mapping = new HashMap<>();
+        mapping.put("Aa", "first");
+        mapping.put("BB", "second");
+        mapping.put("other", "third");
+
+        FrozenLanguage language = FrozenLanguage.of(new StaticLanguage(mapping));
+
+        assertTrue(language.isPerfectlyHashed());
+        assertEquals("first", language.get("Aa"));
+        assertEquals("second", language.get("BB"));
+        assertEquals("third", language.get("other"));
+        assertNull(language.get("C#"));
+        assertEquals(3, language.size());
+
+        Set<String> keys = StreamSupport.stream(language.keys().spliterator(), false).collect(Collectors.toSet());
+        assertEquals(mapping.keySet(), keys);
+
+        Map<String, String> streamed = language.stream().collect(Collectors.toMap(Pair::getKey, Pair::getValue));
+        assertEquals(mapping, streamed);
+    }
+
+    @Test
+    void of_empty_noIndex() {
+        FrozenLanguage language = FrozenLanguage.of(new StaticLanguage(Collections.emptyMap()));
+
+        assertFalse(language.isPerfectlyHashed());
+        assertNull(language.get("anything"));
+        assertFalse(language.keys().iterator().hasNext());
+    }
+
+    @Test
+    void freeze_collection_everyLanguageFrozen() {
+        Map<String, String> en = new HashMap<>();
+        en.put("hello", "Hello");
+
+        Map<String, Language> languages = new HashMap<>();
+        languages.put("en_us", new StaticLanguage(en));
+        languages.put("de_de", new StaticLanguage(Collections.singletonMap("hello", "Hallo")));
+
+        LanguageCollection frozen = FrozenLanguage.freeze(new StaticLanguageCollection(languages));
+
+        assertTrue(frozen.get("en_us") instanceof FrozenLanguage);
+        assertEquals("Hallo", Objects.requireNonNull(frozen.get("de_de")).get("hello"));
+    }
+
+    @Test
+    void keysPrefix_namespace_listedInOrder() {
+        Map<String, String> mapping = new HashMap<>();
+
+        for (int i = 0; i < 60000; i++) {
+            mapping.put("menu.page" + (i % 100) + ".item" + i, "value " + i);
+        }
+
+        mapping.put("Aa", "first");
+        mapping.put("BB", "second");
+
+        Language hashed = new StaticLanguage(mapping);
+        FrozenLanguage frozen = FrozenLanguage.of(hashed);
+
+        for (String prefix : new String[] {"menu.page42.", "menu.page4", "B", "", "missing.", "menu.page99.item59999"}) {
+            List<String> expected = StreamSupport.stream(hashed.keys(prefix).spliterator(), false)
+                    .sorted().collect(Collectors.toList());
+            List<String> actual = StreamSupport.stream(frozen.keys(prefix).spliterator(), false)
+                    .collect(Collectors.toList());
+
+            assertEquals(expected, actual, prefix);
+
+            Map<String, String> streamed = frozen.stream(prefix).collect(Collectors.toMap(Pair::getKey, Pair::getValue));
+            assertEquals(expected.size(), streamed.size());
+            streamed.forEach((key, value) -> assertEquals(mapping.get(key), value));
+        }
+
+        assertEquals(600, ((Collection<?>) frozen.keys("menu.page42.")).size());
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2024 LCLP.
+ *
+ * Licensed under the MIT License. For more information, consider the LICENSE file in the project's root directory.
+ */
+
+package work.lclpnet.translations.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LayeredLanguageCollectionTest {
+
+    @Test
+    void get_laterLayerOverrides() {
+        LayeredLanguageCollection collection = new LayeredLanguageCollection(Arrays.asList(first(), second()));
+
+        Language en = collection.get("en_us");
+        assertNotNull(en);
+
+        assertEquals("First only", en.get("first"));
+        assertEquals("Second", en.get("both"));
+        assertEquals("Second only", en.get("second"));
+        assertNull(en.get("missing"));
+
+        Set<String> keys = new HashSet<>();
+        en.keys().forEach(keys::add);
+        assertEquals(new HashSet<>(Arrays.asList("first", "both", "second")), keys);
+
+        assertNotNull(collection.get("de_de"));
+        assertNull(collection.get("fr_fr"));
+    }
+
+    @Test
+    void withoutLayer_translationsGone() {
+        LanguageCollection second = second();
+        LayeredLanguageCollection collection = new LayeredLanguageCollection(Arrays.asList(first(), second));
+
+        LayeredLanguageCollection removed = collection.withoutLayer(second);
+
+        Language en = removed.get("en_us");
+        assertNotNull(en);
+        assertEquals("First", en.get("both"));
+        assertNull(en.get("second"));
+        assertNull(removed.get("de_de"));
+    }
+
+    @Test
+    void get_manyFallthroughLookups_compacted() {
+        LayeredLanguageCollection collection = new LayeredLanguageCollection(Arrays.asList(first(), second()), 100);
+
+        LayeredLanguage en = (LayeredLanguage) collection.get("en_us");
+        assertNotNull(en);
+
+        // the threshold is checked at random intervals
+        for (int i = 0; i < 10_000 && !en.isCompacted(); i++) {
+            assertEquals("First only", en.get("first"));
+        }
+
+        assertTrue(en.isCompacted());
+        assertEquals("First only", en.get("first"));
+        assertEquals("Second", en.get("both"));
+    }
+
+    @Test
+    void get_topLayerHits_notCompacted() {
+        LayeredLanguageCollection collection = new LayeredLanguageCollection(Arrays.asList(first(), second()), 100);
+
+        LayeredLanguage en = (LayeredLanguage) collection.get("en_us");
+        assertNotNull(en);
+
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals("Second", en.get("both"));
+        }
+
+        assertFalse(en.isCompacted());
+    }
+
+    @Test
+    void columnar_layered_bulkAccessNotSampled() {
+        LayeredLanguageCollection collection = new LayeredLanguageCollection(Arrays.asList(first(), second()), 1);
+
+        ColumnarLanguageCollection columnar = ColumnarLanguageCollection.of(collection);
+        ColumnarLanguage en = columnar.get("en_us");
+        assertNotNull(en);
+
+        assertTrue(en.isLazilyDecoded());
+        assertEquals(3, en.stream().count());
+
+        // bulk access through the columnar view does not trigger compaction
+        assertFalse(((LayeredLanguage) collection.get("en_us")).isCompacted());
+    }
+
+    @Test
+    void columnar_layeredFallthroughLookups_compacted() {
+        LayeredLanguageCollection collection = new LayeredLanguageCollection(Arrays.asList(first(), second()), 1);
+
+        ColumnarLanguage en = ColumnarLanguageCollection.of(collection).get("en_us");
+        assertNotNull(en);
+
+        assertEquals("First only", en.get("first"));
+
+        // lookups through the columnar view are sampled like lookups on the source
+        assertTrue(((LayeredLanguage) collection.get("en_us")).isCompacted());
+        assertEquals("Second", en.get("both"));
+        assertNull(en.get("missing"));
+    }
+
+    @Test
+    void get_nullLocale_null() {
+        LayeredLanguageCollection collection = new LayeredLanguageCollection(Arrays.asList(first(), second()));
+
+        assertNull(collection.get(null));
+    }
+
+    private static LanguageCollection first() {
+        Map<String, String> en = new HashMap<>();
+        en.put("first", "First only");
+        en.put("both", "First");
+
+        Map<String, Language> languages = new HashMap<>();
+        languages.put("en_us", new StaticLanguage(en));
+
+        return new StaticLanguageCollection(languages);
+    }
+
+    private static LanguageCollection second() {
+        Map<String, String> en = new HashMap<>();
+        en.put("second", "Second only");
+        en.put("both", "Second");
+
+        Map<String, Language> languages = new HashMap<>();
+        languages.put("en_us", new StaticLanguage(en));
+        languages.put("de_de", new StaticLanguage(new HashMap<>()));
+
+        return new StaticLanguageCollection(languages);
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2024 LCLP.
+ *
+ * Licensed under the MIT License. For more information, consider the LICENSE file in the project's root directory.
+ */
+
+package work.lclpnet.translations.model;
+
+import org.junit.jupiter.api.Test;
+import work.lclpnet.translations.util.StringDeduplicator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MutableLanguageCollectionTest {
+
+    @Test
+    void merge_manyLargeSources_laterOverride() {
+        final int sourceCount = 20, keyCount = 2000;
+
+        List<LanguageCollection> sources = new ArrayList<>();
+
+        for (int s = 0; s < sourceCount; s++) {
+            Map<String, String> en = new HashMap<>();
+
+            // every source overrides the keys of all previous sources
+            for (int k = 0; k < keyCount * (sourceCount - s); k++) {
+                en.put("key." + k, "source " + s);
+            }
+
+            Map<String, Language> languages = new HashMap<>();
+            languages.put("en_us", new StaticLanguage(en));
+
+            sources.add(new StaticLanguageCollection(languages));
+        }
+
+        MutableLanguageCollection merged = MutableLanguageCollection.merge(sources.stream());
+
+        Language en = merged.get("en_us");
+        assertNotNull(en);
+
+        for (int s = 0; s < sourceCount; s++) {
+            // the last source containing the key wins
+            int k = keyCount * (sourceCount - s) - 1;
+            assertEquals("source " + s, en.get("key." + k));
+        }
+
+        assertEquals(keyCount * sourceCount, en.stream().count());
+    }
+
+    @Test
+    void merge_equalValuesAcrossLocales_deduplicated() {
+        Map<String, String> en = new HashMap<>();
+        en.put(new String("brand"), new String("LCLPNetwork"));
+
+        Map<String, String> de = new HashMap<>();
+        de.put(new String("brand"), new String("LCLPNetwork"));
+
+        Map<String, Language> languages = new HashMap<>();
+        languages.put("en_us", new StaticLanguage(en));
+        languages.put("de_de", new StaticLanguage(de));
+
+        StringDeduplicator deduplicator = new StringDeduplicator();
+        MutableLanguageCollection merged = MutableLanguageCollection.merge(
+                Stream.of(new StaticLanguageCollection(languages)), deduplicator);
+
+        Language mergedEn = merged.get("en_us"), mergedDe = merged.get("de_de");
+        assertNotNull(mergedEn);
+        assertNotNull(mergedDe);
+
+        assertSame(mergedEn.get("brand"), mergedDe.get("brand"));
+        assertSame(mergedEn.keys().iterator().next(), mergedDe.keys().iterator().next());
+        assertEquals(2, deduplicator.getDeduplicatedCount());
+        assertTrue(deduplicator.getSavedBytes() > 0);
+    }
+
+    @Test
+    void merge_forkJoinExecutor_tasksRunInPool() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        Set<ForkJoinPool> pools = ConcurrentHashMap.newKeySet();
+
+        try {
+            Map<String, String> en = new HashMap<>();
+            en.put("hello", "Hello");
+
+            Map<String, Language> languages = new HashMap<>();
+            languages.put("en_us", new StaticLanguage(en) {
+                @Override
+                public String get(String key) {
+                    pools.add(ForkJoinTask.getPool());
+                    return super.get(key);
+                }
+            });
+
+            MutableLanguageCollection merged = MutableLanguageCollection.merge(
+                    Stream.of(new StaticLanguageCollection(languages)), new StringDeduplicator(), pool);
+
+            Language mergedEn = merged.get("en_us");
+            assertNotNull(mergedEn);
+            assertEquals("Hello", mergedEn.get("hello"));
+            assertEquals(Collections.singleton(pool), pools);
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
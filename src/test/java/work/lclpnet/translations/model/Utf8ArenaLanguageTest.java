@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2024 LCLP.
+ *
+ * Licensed under the MIT License. For more information, consider the LICENSE file in the project's root directory.
+ */
+
+package work.lclpnet.translations.model;
+
+import org.junit.jupiter.api.Test;
+import work.lclpnet.translations.util.Pair;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Utf8ArenaLanguageTest {
+
+    @Test
+    void get_multibyteValues_decoded() {
+        Map<String, String> mapping = new HashMap<>();
+        mapping.put("hello", "こんにちは");
+        mapping.put("world", "Мир");
+        mapping.put("empty", "");
+        mapping.put("emoji", "😀 ok");
+
+        Utf8ArenaLanguage language = Utf8ArenaLanguage.of(new StaticLanguage(mapping));
+
+        mapping.forEach((key, value) -> assertEquals(value, language.get(key)));
+        assertNull(language.get("missing"));
+        assertFalse(language.has("missing"));
+        assertTrue(language.has("empty"));
+        assertEquals(4, language.size());
+
+        int expectedSize = mapping.values().stream().mapToInt(v -> v.getBytes(StandardCharsets.UTF_8).length).sum();
+        assertEquals(expectedSize, language.getArenaSize());
+    }
+
+    @Test
+    void get_cached_sameInstance() {
+        Map<String, String> mapping = new HashMap<>();
+        mapping.put("hello", "Hallo");
+
+        Utf8ArenaLanguage uncached = Utf8ArenaLanguage.of(new StaticLanguage(mapping));
+        assertNotSame(uncached.get("hello"), uncached.get("hello"));
+
+        Utf8ArenaLanguage cached = Utf8ArenaLanguage.of(new StaticLanguage(mapping), 16);
+        assertSame(cached.get("hello"), cached.get("hello"));
+    }
+
+    @Test
+    void keysAndStream_allEntries() {
+        Map<String, String> mapping = new HashMap<>();
+
+        for (int i = 0; i < 100; i++) {
+            mapping.put("key." + i, "value " + i);
+        }
+
+        Utf8ArenaLanguage language = Utf8ArenaLanguage.of(new StaticLanguage(mapping), 8);
+
+        Set<String> keys = StreamSupport.stream(language.keys().spliterator(), false).collect(Collectors.toSet());
+        assertEquals(mapping.keySet(), keys);
+
+        Map<String, String> streamed = language.stream().collect(Collectors.toMap(Pair::getKey, Pair::getValue));
+        assertEquals(mapping, streamed);
+    }
+
+    @Test
+    void compact_selectedLocales_arenaBacked() {
+        Map<String, String> en = new HashMap<>();
+        en.put("hello", "Hello");
+
+        Map<String, String> ja = new HashMap<>();
+        ja.put("hello", "こんにちは");
+
+        Map<String, Language> languages = new HashMap<>();
+        languages.put("en_us", new StaticLanguage(en));
+        languages.put("ja_jp", new StaticLanguage(ja));
+
+        LanguageCollection compacted = Utf8ArenaLanguage.compact(new StaticLanguageCollection(languages),
+                locale -> !locale.equals("en_us"));
+
+        assertTrue(compacted.get("en_us") instanceof StaticLanguage);
+        assertTrue(compacted.get("ja_jp") instanceof Utf8ArenaLanguage);
+        assertEquals("こんにちは", compacted.get("ja_jp").get("hello"));
+
+        ColumnarLanguage column = ColumnarLanguageCollection.of(compacted).get("ja_jp");
+        assertNotNull(column);
+        assertTrue(column.isLazilyDecoded());
+        assertEquals("こんにちは", column.get("hello"));
+        assertEquals(new HashSet<>(ja.keySet()), StreamSupport.stream(column.keys().spliterator(), false).collect(Collectors.toSet()));
+    }
+
+    @Test
+    void keysPrefix_namespace_listed() {
+        Map<String, String> mapping = new HashMap<>();
+        mapping.put("menu.shop.title", "Shop");
+        mapping.put("menu.shop.buy", "Buy");
+        mapping.put("menu.shopping", "Shopping");
+        mapping.put("menu.settings", "Settings");
+
+        Utf8ArenaLanguage language = Utf8ArenaLanguage.of(new StaticLanguage(mapping));
+
+        assertEquals(Arrays.asList("menu.shop.buy", "menu.shop.title"),
+                StreamSupport.stream(language.keys("menu.shop.").spliterator(), false).collect(Collectors.toList()));
+
+        assertEquals(3, language.stream("menu.shop").count());
+        assertEquals(0, language.stream("other.").count());
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2024 LCLP.
+ *
+ * Licensed under the MIT License. For more information, consider the LICENSE file in the project's root directory.
+ */
+
+package work.lclpnet.translations.pack;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import work.lclpnet.translations.DefaultLanguageTranslator;
+import work.lclpnet.translations.loader.MappedPackTranslationLoader;
+import work.lclpnet.translations.model.ColumnarLanguageCollection;
+import work.lclpnet.translations.model.Language;
+import work.lclpnet.translations.model.LanguageCollection;
+import work.lclpnet.translations.model.StaticLanguage;
+import work.lclpnet.translations.model.StaticLanguageCollection;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TranslationPackTest {
+
+    private static final Logger logger = LoggerFactory.getLogger("test");
+
+    @Test
+    void read_written_translationsEqual() throws IOException {
+        LanguageCollection source = createCollection();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TranslationPackWriter.write(source, out);
+
+        TranslationPack pack = TranslationPack.read(ByteBuffer.wrap(out.toByteArray()));
+
+        assertTranslations(pack);
+    }
+
+    @Test
+    void load_mapped_translationsEqual() throws IOException {
+        Path path = Files.createTempFile("translations", ".pack");
+
+        try {
+            TranslationPackWriter.write(createCollection(), path);
+
+            LanguageCollection collection = new MappedPackTranslationLoader(path, logger).load().join();
+
+            assertTranslations(collection);
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    void translator_pack_valuesNotMaterialized() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TranslationPackWriter.write(createCollection(), out);
+
+        byte[] bytes = out.toByteArray();
+        TranslationPack pack = TranslationPack.read(ByteBuffer.wrap(bytes));
+
+        DefaultLanguageTranslator translator = DefaultLanguageTranslator.create(() -> CompletableFuture.completedFuture(pack)).join();
+
+        ColumnarLanguageCollection columnar = ColumnarLanguageCollection.of(pack);
+        assertTrue(columnar.get("en_us").isLazilyDecoded());
+        assertTrue(columnar.get("ja_jp").isLazilyDecoded());
+
+        // values that were copied into the snapshot would not observe changes of the pack
+        replace(bytes, "Hello", "Jello");
+        replace(bytes, "こんにちは", "さようなら");
+
+        assertEquals("Jello", translator.translate("en_us", "hello"));
+        assertEquals("さようなら", translator.translate("ja_jp", "hello"));
+        assertEquals("World", translator.translate("ja_jp", "world"));
+        assertEquals("Jello", translator.translate("de_de", "hello"));
+        assertTrue(translator.hasTranslation("ja_jp", "hello"));
+        assertFalse(translator.hasTranslation("ja_jp", "world"));
+    }
+
+    @Test
+    void read_invalid_throws() {
+        assertThrows(IOException.class, () -> TranslationPack.read(ByteBuffer.wrap(new byte[] { 1, 2, 3 })));
+    }
+
+    @Test
+    void read_readOnlyBuffer_translationsEqual() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TranslationPackWriter.write(createCollection(), out);
+
+        // read-only buffers expose no array, like memory-mapped files
+        ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray()).asReadOnlyBuffer();
+
+        assertTranslations(TranslationPack.read(buffer));
+    }
+
+    @Test
+    void read_corruptCounts_throws() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TranslationPackWriter.write(createCollection(), out);
+
+        byte[] bytes = out.toByteArray();
+
+        // key count, locale count and hash table size
+        for (int field = 2; field <= 4; field++) {
+            for (int value : new int[] { -1, Integer.MAX_VALUE, Integer.MIN_VALUE }) {
+                ByteBuffer buffer = ByteBuffer.wrap(bytes.clone());
+                buffer.putInt(field * Integer.BYTES, value);
+
+                assertThrows(IOException.class, () -> TranslationPack.read(buffer));
+            }
+        }
+    }
+
+    @Test
+    void read_corruptLocaleOffset_throws() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TranslationPackWriter.write(createCollection(), out);
+
+        ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray());
+        buffer.putInt(TranslationPack.HEADER_SIZE, buffer.limit());
+
+        assertThrows(IOException.class, () -> TranslationPack.read(buffer));
+    }
+
+    @Test
+    void get_hashTableWithoutEmptySlot_missingKeyNotFound() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TranslationPackWriter.write(createCollection(), out);
+
+        ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray());
+        int localeCount = buffer.getInt(3 * Integer.BYTES), hashTableSize = buffer.getInt(4 * Integer.BYTES);
+        int hashTableOffset = TranslationPack.HEADER_SIZE + localeCount * Integer.BYTES;
+
+        // occupy every empty slot, so that probing never hits an empty one
+        for (int slot = 0; slot < hashTableSize; slot++) {
+            int position = hashTableOffset + slot * TranslationPack.HASH_SLOT_SIZE + Integer.BYTES;
+
+            if (buffer.getInt(position) == 0) {
+                buffer.putInt(position, 1);
+            }
+        }
+
+        TranslationPack pack = TranslationPack.read(buffer);
+        Language en = pack.get("en_us");
+
+        assertNotNull(en);
+        assertNull(en.get("missing"));
+        assertEquals("Hello", en.get("hello"));
+    }
+
+    @Test
+    void columnar_pack_keysShared() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TranslationPackWriter.write(createCollection(), out);
+
+        ColumnarLanguageCollection columnar = ColumnarLanguageCollection.of(TranslationPack.read(ByteBuffer.wrap(out.toByteArray())));
+
+        assertEquals(103, columnar.getKeyCount());
+
+        int hello = columnar.getKeyId("hello");
+        assertEquals("Hello", Objects.requireNonNull(columnar.get("en_us")).get(hello));
+        assertEquals("こんにちは", Objects.requireNonNull(columnar.get("ja_jp")).get(hello));
+        assertNull(Objects.requireNonNull(columnar.get("ja_jp")).get(columnar.getKeyId("world")));
+    }
+
+    private static LanguageCollection createCollection() {
+        Map<String, String> en = new HashMap<>();
+        en.put("hello", "Hello");
+        en.put("world", "World");
+
+        for (int i = 0; i < 100; i++) {
+            en.put("generated." + i, "Generated " + i);
+        }
+
+        Map<String, String> ja = new HashMap<>();
+        ja.put("hello", "こんにちは");
+        ja.put("emoji.😀", "😀");
+
+        Map<String, Language> languages = new HashMap<>();
+        languages.put("en_us", new StaticLanguage(en));
+        languages.put("ja_jp", new StaticLanguage(ja));
+
+        return new StaticLanguageCollection(languages);
+    }
+
+    private static void replace(byte[] bytes, String search, String replacement) {
+        byte[] from = search.getBytes(StandardCharsets.UTF_8), to = replacement.getBytes(StandardCharsets.UTF_8);
+        assertEquals(from.length, to.length);
+
+        int found = 0;
+
+        outer:
+        for (int i = 0; i <= bytes.length - from.length; i++) {
+            for (int j = 0; j < from.length; j++) {
+                if (bytes[i + j] != from[j]) continue outer;
+            }
+
+            System.arraycopy(to, 0, bytes, i, to.length);
+            found++;
+        }
+
+        assertTrue(found > 0);
+    }
+
+    private static void assertTranslations(LanguageCollection collection) {
+        Language en = collection.get("en_us");
+        Language ja = collection.get("ja_jp");
+
+        assertNotNull(en);
+        assertNotNull(ja);
+        assertNull(collection.get("de_de"));
+
+        assertEquals("Hello", en.get("hello"));
+        assertEquals("Generated 42", en.get("generated.42"));
+        assertEquals("こんにちは", ja.get("hello"));
+        assertEquals("😀", ja.get("emoji.😀"));
+
+        assertNull(ja.get("world"));
+        assertFalse(ja.has("world"));
+        assertFalse(en.has("missing"));
+        assertTrue(en.has("world"));
+
+        Set<String> keys = new HashSet<>();
+        ja.keys().forEach(keys::add);
+
+        assertEquals(2, keys.size());
+        assertTrue(keys.contains("emoji.😀"));
+        assertEquals(102, en.stream().count());
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2024 LCLP.
+ *
+ * Licensed under the MIT License. For more information, consider the LICENSE file in the project's root directory.
+ */
+
+package work.lclpnet.translations.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.util.Date;
+import java.util.MissingFormatArgumentException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FormatTemplateTest {
+
+    @Test
+    void format_matchesStringFormat() {
+        String[] patterns = new String[] {
+                "Hello",
+                "Hello %s",
+                "%s and %s",
+                "%2$s before %1$s",
+                "%s, %1$s, %s",
+                "100%% of %s%n",
+                "%d players",
+                "%.2f%%",
+                "%-10s|",
+                "%S",
+                "trailing %"
+        };
+
+        Object[] args = new Object[] { "first", 42 };
+
+        for (String pattern : patterns) {
+            FormatTemplate template = FormatTemplate.compile(pattern);
+
+            String expected;
+
+            try {
+                expected = String.format(pattern, args);
+            } catch (RuntimeException e) {
+                assertThrows(e.getClass(), () -> template.format(args));
+                continue;
+            }
+
+            assertEquals(expected, template.format(args), pattern);
+        }
+    }
+
+    @Test
+    void format_nullArgument_printsNull() {
+        FormatTemplate template = FormatTemplate.compile("Value: %s");
+
+        assertEquals("Value: null", template.format((Object) null));
+    }
+
+    @Test
+    void format_missingArgument_throws() {
+        FormatTemplate template = FormatTemplate.compile("%s and %s");
+
+        assertThrows(MissingFormatArgumentException.class, () -> template.format("one"));
+    }
+
+    @Test
+    void formatTo_appends() {
+        FormatTemplate template = FormatTemplate.compile("Hello %s!");
+
+        StringBuilder builder = new StringBuilder("> ");
+        template.formatTo(builder, "World");
+
+        assertEquals("> Hello World!", builder.toString());
+    }
+
+    @Test
+    void formatTo_appendable_matchesStringFormat() throws IOException {
+        String[] patterns = new String[] {"Hello %s, you have %s new messages", "%2$s %1$s", "%2$d%%", "%tY"};
+        Object[] args = new Object[] {new StringBuilder("Steve"), 3};
+        Object[] dateArgs = new Object[] {new Date(0L)};
+
+        for (String pattern : patterns) {
+            Object[] patternArgs = pattern.contains("%t") ? dateArgs : args;
+            CharBuffer buffer = CharBuffer.allocate(64);
+
+            FormatTemplate.compile(pattern).formatTo((Appendable) buffer, patternArgs);
+            buffer.flip();
+
+            assertEquals(String.format(pattern, patternArgs), buffer.toString(), pattern);
+        }
+    }
+
+    @Test
+    void format_nestedFormatInArgument_notOverwritten() {
+        FormatTemplate outer = FormatTemplate.compile("Outer [%s] end");
+        FormatTemplate inner = FormatTemplate.compile("Inner %s");
+
+        Object nested = new Object() {
+            @Override
+            public String toString() {
+                return inner.format("x");
+            }
+        };
+
+        assertEquals("Outer [Inner x] end", outer.format(nested));
+    }
+}
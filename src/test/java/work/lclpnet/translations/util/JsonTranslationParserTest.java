@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2024 LCLP.
+ *
+ * Licensed under the MIT License. For more information, consider the LICENSE file in the project's root directory.
+ */
+
+package work.lclpnet.translations.util;
+
+import com.google.gson.JsonSyntaxException;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import work.lclpnet.translations.model.Language;
+import work.lclpnet.translations.model.LanguageCollection;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonTranslationParserTest {
+
+    private static final Logger logger = LoggerFactory.getLogger("test");
+
+    @Test
+    void parse_streaming_entriesAdded() throws IOException {
+        JsonTranslationParser parser = new JsonTranslationParser(logger);
+
+        parser.parse(stream("{\"hello\": \"Hallo\", \"count\": 3, \"flag\": true, \"nested\": {\"a\": \"b\"}, \"after\": \"Danach\"}"), "de_de");
+        parser.parse(stream("{\"world\": \"Welt\"}"), "de_de");
+
+        LanguageCollection collection = parser.build();
+        Language language = collection.get("de_de");
+
+        assertNotNull(language);
+        assertEquals("Hallo", language.get("hello"));
+        assertEquals("3", language.get("count"));
+        assertEquals("true", language.get("flag"));
+        assertEquals("Danach", language.get("after"));
+        assertEquals("Welt", language.get("world"));
+        assertFalse(language.has("nested"));
+    }
+
+    @Test
+    void parse_streamingAndTree_equal() throws IOException {
+        String json = "{\"hello\": \"Hello\", \"unicode\": \"\\u00fcber こんにちは\"}";
+
+        JsonTranslationParser streaming = new JsonTranslationParser(logger, true);
+        streaming.parse(stream(json), "en_us");
+
+        JsonTranslationParser tree = new JsonTranslationParser(logger, false);
+        tree.parse(stream(json), "en_us");
+
+        Language expected = tree.build().get("en_us");
+        Language actual = streaming.build().get("en_us");
+
+        assertNotNull(expected);
+        assertNotNull(actual);
+        assertEquals(expected.get("hello"), actual.get("hello"));
+        assertEquals(expected.get("unicode"), actual.get("unicode"));
+    }
+
+    @Test
+    void parse_streamingMalformed_throws() {
+        JsonTranslationParser parser = new JsonTranslationParser(logger);
+
+        assertThrows(JsonSyntaxException.class, () -> parser.parse(stream("[\"not\", \"an\", \"object\"]"), "en_us"));
+    }
+
+    @Test
+    void parse_streamingTruncated_noLanguageAdded() {
+        JsonTranslationParser parser = new JsonTranslationParser(logger);
+
+        assertThrows(JsonSyntaxException.class, () -> parser.parse(stream("{\"hello\": \"Hello\", \"world\": "), "en_us"));
+
+        assertNull(parser.build().get("en_us"));
+    }
+
+    @Test
+    void parse_streamingTrailingContent_throws() {
+        JsonTranslationParser parser = new JsonTranslationParser(logger);
+
+        assertThrows(JsonSyntaxException.class, () -> parser.parse(stream("{\"hello\": \"Hello\"} {}"), "en_us"));
+
+        assertNull(parser.build().get("en_us"));
+    }
+
+    @Test
+    void parse_equalStrings_deduplicated() throws IOException {
+        JsonTranslationParser parser = new JsonTranslationParser(logger);
+
+        parser.parse(stream("{\"brand\": \"LCLPNetwork\", \"player\": \"%s\"}"), "en_us");
+        parser.parse(stream("{\"brand\": \"LCLPNetwork\", \"player\": \"%s\"}"), "de_de");
+
+        LanguageCollection collection = parser.build();
+        Language en = collection.get("en_us"), de = collection.get("de_de");
+
+        assertNotNull(en);
+        assertNotNull(de);
+        assertSame(en.get("brand"), de.get("brand"));
+        assertSame(en.get("player"), de.get("player"));
+
+        // two keys and two values of the second file
+        assertEquals(4, parser.getDeduplicator().getDeduplicatedCount());
+        assertTrue(parser.getDeduplicator().getSavedBytes() > 0);
+    }
+
+    private static InputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
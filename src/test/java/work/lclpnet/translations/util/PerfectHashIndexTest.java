@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2024 LCLP.
+ *
+ * Licensed under the MIT License. For more information, consider the LICENSE file in the project's root directory.
+ */
+
+package work.lclpnet.translations.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PerfectHashIndexTest {
+
+    @Test
+    void build_distinctHashes_bijective() {
+        for (int size : new int[] {1, 2, 3, 100, 60000}) {
+            Random random = new Random(size);
+            Set<Integer> distinct = new HashSet<>();
+
+            while (distinct.size() < size) {
+                distinct.add(random.nextInt());
+            }
+
+            int[] hashes = distinct.stream().mapToInt(Integer::intValue).toArray();
+
+            PerfectHashIndex index = PerfectHashIndex.build(hashes);
+            assertNotNull(index);
+            assertEquals(size, index.size());
+
+            boolean[] used = new boolean[size];
+
+            for (int hash : hashes) {
+                int slot = index.slot(hash);
+
+                assertTrue(slot >= 0 && slot < size);
+                assertFalse(used[slot], "slot assigned twice");
+                used[slot] = true;
+            }
+        }
+    }
+
+    @Test
+    void build_duplicateHashes_null() {
+        assertNull(PerfectHashIndex.build(new int[] {1, 2, 2}));
+    }
+
+    @Test
+    void build_empty_null() {
+        assertNull(PerfectHashIndex.build(new int[0]));
+    }
+
+    @Test
+    void slot_unknownHash_inRange() {
+        PerfectHashIndex index = PerfectHashIndex.build(new int[] {10, 20, 30});
+        assertNotNull(index);
+
+        for (int hash = -1000; hash < 1000; hash++) {
+            int slot = index.slot(hash);
+            assertTrue(slot >= 0 && slot < 3);
+        }
+    }
+}
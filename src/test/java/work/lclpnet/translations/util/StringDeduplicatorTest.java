@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2024 LCLP.
+ *
+ * Licensed under the MIT License. For more information, consider the LICENSE file in the project's root directory.
+ */
+
+package work.lclpnet.translations.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StringDeduplicatorTest {
+
+    @Test
+    void dedupe_equalStrings_firstInstanceReturned() {
+        StringDeduplicator deduplicator = new StringDeduplicator();
+
+        String first = new String("translation");
+        String second = new String("translation");
+
+        assertSame(first, deduplicator.dedupe(first));
+        assertSame(first, deduplicator.dedupe(second));
+        assertSame(first, deduplicator.dedupe(first));
+
+        assertEquals(1, deduplicator.getDeduplicatedCount());
+        assertEquals(StringDeduplicator.estimateSize(second), deduplicator.getSavedBytes());
+    }
+
+    @Test
+    void dedupe_null_null() {
+        assertNull(new StringDeduplicator().dedupe(null));
+    }
+
+    @Test
+    void estimateSize_aligned() {
+        assertEquals(0, StringDeduplicator.estimateSize("") % 8);
+        assertEquals(0, StringDeduplicator.estimateSize("abc") % 8);
+        assertTrue(StringDeduplicator.estimateSize("abcdefgh") > StringDeduplicator.estimateSize("abc"));
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2024 LCLP.
+ *
+ * Licensed under the MIT License. For more information, consider the LICENSE file in the project's root directory.
+ */
+
+package work.lclpnet.translations.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class Utf8ByteBufferAppendableTest {
+
+    @Test
+    void append_multiByte_matchesGetBytes() {
+        String text = "Grüße € 😀 done";
+
+        assertArrayEquals(text.getBytes(StandardCharsets.UTF_8), encode(text));
+    }
+
+    @Test
+    void append_surrogatePairSplit_encodedOnce() {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        Utf8ByteBufferAppendable appendable = new Utf8ByteBufferAppendable(buffer);
+
+        appendable.append('\uD83D').append('\uDE00').finish();
+
+        assertArrayEquals("😀".getBytes(StandardCharsets.UTF_8), bytes(buffer));
+    }
+
+    @Test
+    void append_unpairedSurrogates_replaced() {
+        String text = "a\uDE00b\uD83Dc\uD83D";
+
+        assertArrayEquals(text.getBytes(StandardCharsets.UTF_8), encode(text));
+    }
+
+    @Test
+    void append_bufferFull_throwsWithoutPartialCharacter() {
+        ByteBuffer buffer = ByteBuffer.allocate(3);
+        Utf8ByteBufferAppendable appendable = new Utf8ByteBufferAppendable(buffer);
+
+        assertThrows(BufferOverflowException.class, () -> appendable.append("aß€"));
+        assertEquals(3, buffer.position());
+        assertArrayEquals("aß".getBytes(StandardCharsets.UTF_8), bytes(buffer));
+    }
+
+    private static byte[] encode(String text) {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        new Utf8ByteBufferAppendable(buffer).append(text).finish();
+
+        return bytes(buffer);
+    }
+
+    private static byte[] bytes(ByteBuffer buffer) {
+        buffer.flip();
+
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+
+        return bytes;
+    }
+}
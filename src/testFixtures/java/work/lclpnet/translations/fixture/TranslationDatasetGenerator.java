@@ -0,0 +1,463 @@
+/*
+ * Copyright (c) 2024 LCLP.
+ *
+ * Licensed under the MIT License. For more information, consider the LICENSE file in the project's root directory.
+ */
+
+package work.lclpnet.translations.fixture;
+
+import com.google.gson.stream.JsonWriter;
+import work.lclpnet.translations.model.Language;
+import work.lclpnet.translations.model.LanguageCollection;
+import work.lclpnet.translations.model.StaticLanguage;
+import work.lclpnet.translations.model.StaticLanguageCollection;
+
+import java.io.*;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Generates reproducible synthetic translation datasets of configurable size, for load and scaling tests.
+ * <p>
+ * Keys are distributed over namespaces following a zipf distribution with the configured skew,
+ * so that a few namespaces (and therefore archives) are much larger than the others.
+ * The first locale is the default language and translates every key,
+ * every other locale translates a key with the probability given by the coverage.
+ * Equal settings always produce equal datasets.
+ */
+public class TranslationDatasetGenerator {
+
+    public static final String DEFAULT_LOCALE = "en_us";
+    private static final String[] KNOWN_LOCALES = new String[] {
+            DEFAULT_LOCALE, "de_de", "fr_fr", "es_es", "it_it", "nl_nl", "pt_br", "pl_pl", "ru_ru", "sv_se",
+            "da_dk", "fi_fi", "nb_no", "cs_cz", "hu_hu", "tr_tr", "uk_ua", "ja_jp", "ko_kr", "zh_cn"
+    };
+
+    private long seed = 0;
+    private int keyCount = 1000;
+    private int localeCount = 5;
+    private int namespaceCount = 10;
+    private double skew = 0;
+    private double coverage = 1;
+    private double placeholderRatio = 0.1;
+    private int valueLength = 24;
+    private double[] namespaceWeights = null;
+
+    /**
+     * @param seed The seed for every random choice.
+     * @return This generator.
+     */
+    public TranslationDatasetGenerator seed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    public TranslationDatasetGenerator keys(int keyCount) {
+        if (keyCount < 0) throw new IllegalArgumentException("Key count must not be negative");
+        this.keyCount = keyCount;
+        return this;
+    }
+
+    /**
+     * @param localeCount The number of locales. Locales beyond the built-in real locales are named xNN_xx.
+     * @return This generator.
+     */
+    public TranslationDatasetGenerator locales(int localeCount) {
+        if (localeCount < 1) throw new IllegalArgumentException("At least one locale is required");
+        this.localeCount = localeCount;
+        return this;
+    }
+
+    public TranslationDatasetGenerator namespaces(int namespaceCount) {
+        if (namespaceCount < 1) throw new IllegalArgumentException("At least one namespace is required");
+        this.namespaceCount = namespaceCount;
+        this.namespaceWeights = null;
+        return this;
+    }
+
+    /**
+     * @param skew The zipf exponent of the key distribution over namespaces. 0 distributes keys uniformly.
+     * @return This generator.
+     */
+    public TranslationDatasetGenerator skew(double skew) {
+        if (skew < 0) throw new IllegalArgumentException("Skew must not be negative");
+        this.skew = skew;
+        this.namespaceWeights = null;
+        return this;
+    }
+
+    /**
+     * @param coverage The probability, that a non-default locale translates a key.
+     * @return This generator.
+     */
+    public TranslationDatasetGenerator coverage(double coverage) {
+        if (coverage < 0 || coverage > 1) throw new IllegalArgumentException("Coverage must be between 0 and 1");
+        this.coverage = coverage;
+        return this;
+    }
+
+    /**
+     * @param placeholderRatio The probability, that a translation contains format placeholders.
+     * @return This generator.
+     */
+    public TranslationDatasetGenerator placeholders(double placeholderRatio) {
+        if (placeholderRatio < 0 || placeholderRatio > 1) throw new IllegalArgumentException("Ratio must be between 0 and 1");
+        this.placeholderRatio = placeholderRatio;
+        return this;
+    }
+
+    public TranslationDatasetGenerator valueLength(int valueLength) {
+        if (valueLength < 1) throw new IllegalArgumentException("Value length must be positive");
+        this.valueLength = valueLength;
+        return this;
+    }
+
+    public List<String> getLocales() {
+        List<String> locales = new ArrayList<>(localeCount);
+
+        for (int i = 0; i < localeCount; i++) {
+            locales.add(locale(i));
+        }
+
+        return locales;
+    }
+
+    /**
+     * @param index The locale index, from 0 (inclusive) to the locale count (exclusive).
+     * @return The locale with the given index. The locale with index 0 is the default language.
+     */
+    public String locale(int index) {
+        return index < KNOWN_LOCALES.length ? KNOWN_LOCALES[index] : String.format("x%02d_xx", index);
+    }
+
+    public int getKeyCount() {
+        return keyCount;
+    }
+
+    public int getNamespaceCount() {
+        return namespaceCount;
+    }
+
+    /**
+     * @param index The key index, from 0 (inclusive) to the key count (exclusive).
+     * @return The key with the given index.
+     */
+    public String key(int index) {
+        return "ns" + namespace(index) + ".group" + (index % 16) + ".key" + index;
+    }
+
+    /**
+     * @param index The key index.
+     * @return The namespace the key belongs to.
+     */
+    public int namespace(int index) {
+        if (skew == 0) return index % namespaceCount;
+
+        double[] cdf = namespaceWeights();
+        int ns = Arrays.binarySearch(cdf, uniform(index, -1, 0) * cdf[cdf.length - 1]);
+
+        return Math.min(ns >= 0 ? ns + 1 : -ns - 1, namespaceCount - 1);
+    }
+
+    private double[] namespaceWeights() {
+        double[] cdf = this.namespaceWeights;
+
+        if (cdf == null) {
+            cdf = new double[namespaceCount];
+            double sum = 0;
+
+            for (int ns = 0; ns < namespaceCount; ns++) {
+                sum += 1 / Math.pow(ns + 1, skew);
+                cdf[ns] = sum;
+            }
+
+            this.namespaceWeights = cdf;
+        }
+
+        return cdf;
+    }
+
+    /**
+     * @return The key indices of every namespace, in ascending order.
+     */
+    public int[][] partition() {
+        int[] namespaces = new int[keyCount];
+        int[] sizes = new int[namespaceCount];
+
+        for (int i = 0; i < keyCount; i++) {
+            namespaces[i] = namespace(i);
+            sizes[namespaces[i]]++;
+        }
+
+        int[][] partition = new int[namespaceCount][];
+
+        for (int ns = 0; ns < namespaceCount; ns++) {
+            partition[ns] = new int[sizes[ns]];
+            sizes[ns] = 0;
+        }
+
+        for (int i = 0; i < keyCount; i++) {
+            int ns = namespaces[i];
+            partition[ns][sizes[ns]++] = i;
+        }
+
+        return partition;
+    }
+
+    /**
+     * Get the generated translation of a key in a locale.
+     * @param locale The locale index, from 0 (inclusive) to the locale count (exclusive).
+     * @param index The key index.
+     * @return The translation, or null if the locale does not translate the key.
+     */
+    public String value(int locale, int index) {
+        if (locale > 0 && uniform(index, locale, 1) >= coverage) return null;
+
+        StringBuilder builder = new StringBuilder(valueLength + 8);
+        builder.append(locale(locale)).append(' ').append(index);
+
+        if (uniform(index, locale, 2) < placeholderRatio) {
+            builder.append(" %s");
+        }
+
+        long state = mix(seed ^ mix(index * 31L + locale));
+
+        while (builder.length() < valueLength) {
+            state = mix(state);
+            builder.append((char) ('a' + (int) ((state >>> 33) % 26)));
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * Samples key indices following a zipf distribution, e.g. to simulate a realistic lookup workload.
+     * Lower indices are requested more often for positive access skew.
+     * @param count The amount of samples.
+     * @param accessSkew The zipf exponent of the access distribution. 0 samples uniformly.
+     * @return The sampled key indices.
+     */
+    public int[] sampleKeyIndices(int count, double accessSkew) {
+        int[] samples = new int[count];
+        if (keyCount == 0) return samples;
+
+        Random random = new Random(seed);
+
+        if (accessSkew == 0) {
+            for (int i = 0; i < count; i++) {
+                samples[i] = random.nextInt(keyCount);
+            }
+
+            return samples;
+        }
+
+        double[] cdf = new double[keyCount];
+        double sum = 0;
+
+        for (int i = 0; i < keyCount; i++) {
+            sum += 1 / Math.pow(i + 1, accessSkew);
+            cdf[i] = sum;
+        }
+
+        for (int i = 0; i < count; i++) {
+            int index = Arrays.binarySearch(cdf, random.nextDouble() * sum);
+            samples[i] = Math.min(index >= 0 ? index : -index - 1, keyCount - 1);
+        }
+
+        return samples;
+    }
+
+    /**
+     * @param locale The locale index.
+     * @return The translations of the locale, in key order.
+     */
+    public Map<String, String> translations(int locale) {
+        Map<String, String> translations = new LinkedHashMap<>();
+
+        for (int i = 0; i < keyCount; i++) {
+            String value = value(locale, i);
+
+            if (value != null) {
+                translations.put(key(i), value);
+            }
+        }
+
+        return translations;
+    }
+
+    public LanguageCollection collection() {
+        Map<String, Language> languages = new HashMap<>();
+
+        for (int i = 0; i < localeCount; i++) {
+            languages.put(locale(i), new StaticLanguage(translations(i)));
+        }
+
+        return new StaticLanguageCollection(languages);
+    }
+
+    /**
+     * @param locale The locale index.
+     * @return The json translation file of the locale, containing every key.
+     */
+    public byte[] json(int locale) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try {
+            writeJson(out, locale, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return out.toByteArray();
+    }
+
+    /**
+     * Writes a json translation file.
+     * The output stream is flushed, but not closed.
+     * @param out The output stream.
+     * @param locale The locale index.
+     * @param keyIndices The key indices to include, or null to include every key.
+     * @throws IOException If the json could not be written.
+     */
+    public void writeJson(OutputStream out, int locale, int[] keyIndices) throws IOException {
+        JsonWriter writer = new JsonWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.beginObject();
+
+        int count = keyIndices != null ? keyIndices.length : keyCount;
+
+        for (int i = 0; i < count; i++) {
+            int index = keyIndices != null ? keyIndices[i] : i;
+            String value = value(locale, index);
+
+            if (value != null) {
+                writer.name(key(index)).value(value);
+            }
+        }
+
+        writer.endObject();
+        writer.flush();
+    }
+
+    /**
+     * Writes the whole dataset into a directory with one json file per locale, e.g. dir/lang/en_us.json.
+     * @param dir The directory.
+     * @param resourcePath The resource path within the directory, e.g. "lang/".
+     * @throws IOException If the files could not be written.
+     */
+    public void writeDirectory(Path dir, String resourcePath) throws IOException {
+        Path lang = Files.createDirectories(dir.resolve(resourcePath));
+
+        for (int locale = 0; locale < localeCount; locale++) {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(lang.resolve(locale(locale) + ".json")))) {
+                writeJson(out, locale, null);
+            }
+        }
+    }
+
+    /**
+     * Writes the dataset into multiple directories, where each one contains the keys of some namespaces,
+     * e.g. dir/archive0/lang/ns0/en_us.json.
+     * Namespaces are assigned to the archives round-robin, so skewed datasets produce archives of different size.
+     * @param dir The parent directory.
+     * @param resourcePath The resource path within each directory, e.g. "lang/".
+     * @param archiveCount The amount of directories.
+     * @return The urls of the written directories, in order.
+     * @throws IOException If the files could not be written.
+     */
+    public URL[] writeDirectories(Path dir, String resourcePath, int archiveCount) throws IOException {
+        int[][] partition = partition();
+        URL[] urls = new URL[archiveCount];
+
+        for (int archive = 0; archive < archiveCount; archive++) {
+            Path archiveDir = Files.createDirectories(dir.resolve("archive" + archive));
+
+            for (int ns = archive; ns < namespaceCount; ns += archiveCount) {
+                Path nsDir = Files.createDirectories(archiveDir.resolve(resourcePath).resolve("ns" + ns));
+
+                for (int locale = 0; locale < localeCount; locale++) {
+                    try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(nsDir.resolve(locale(locale) + ".json")))) {
+                        writeJson(out, locale, partition[ns]);
+                    }
+                }
+            }
+
+            urls[archive] = archiveDir.toUri().toURL();
+        }
+
+        return urls;
+    }
+
+    /**
+     * Writes the dataset into multiple jars, where each one contains the keys of some namespaces,
+     * e.g. dir/archive0.jar!/lang/ns0/en_us.json.
+     * Namespaces are assigned to the archives round-robin, so skewed datasets produce archives of different size.
+     * @param dir The directory to write the jars into.
+     * @param resourcePath The resource path within each jar, e.g. "lang/".
+     * @param archiveCount The amount of jars.
+     * @return The urls of the written jars, in order.
+     * @throws IOException If the files could not be written.
+     */
+    public URL[] writeJars(Path dir, String resourcePath, int archiveCount) throws IOException {
+        if (!resourcePath.endsWith("/")) resourcePath += "/";
+
+        Files.createDirectories(dir);
+
+        int[][] partition = partition();
+        URL[] urls = new URL[archiveCount];
+
+        for (int archive = 0; archive < archiveCount; archive++) {
+            Path jar = dir.resolve("archive" + archive + ".jar");
+
+            try (ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(jar)))) {
+                for (int ns = archive; ns < namespaceCount; ns += archiveCount) {
+                    for (int locale = 0; locale < localeCount; locale++) {
+                        zip.putNextEntry(new ZipEntry(resourcePath + "ns" + ns + "/" + locale(locale) + ".json"));
+                        writeJson(zip, locale, partition[ns]);
+                        zip.closeEntry();
+                    }
+                }
+            }
+
+            urls[archive] = jar.toUri().toURL();
+        }
+
+        return urls;
+    }
+
+    /**
+     * Recursively deletes a directory written by this generator.
+     * @param path The directory.
+     * @throws IOException If a file could not be deleted.
+     */
+    public static void delete(Path path) throws IOException {
+        if (!Files.exists(path)) return;
+
+        try (Stream<Path> files = Files.walk(path)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    /**
+     * @return A uniform value in [0, 1), derived from the seed and the arguments only.
+     */
+    private double uniform(int index, int locale, int salt) {
+        long hash = mix(seed + mix(index + 0x9E3779B97F4A7C15L * (locale + 2) + 0xC2B2AE3D27D4EB4FL * salt));
+
+        return (hash >>> 11) * 0x1.0p-53;
+    }
+
+    private static long mix(long z) {
+        // splitmix64 finalizer
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}